@@ -0,0 +1,91 @@
+package com.example.bookbe.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits non-zero
+ * when any benchmark regressed by more than the threshold (in percent).
+ * Throughput modes regress when the score drops; time modes when it grows.
+ *
+ * Usage: BenchmarkComparator result.json baseline.json thresholdPercent updateBaseline
+ */
+public final class BenchmarkComparator {
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean update = Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(result)) {
+            System.err.println("No benchmark result at " + result);
+            System.exit(2);
+        }
+        if (update || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+
+        JsonMapper mapper = JsonMapper.builder().build();
+        Map<String, JsonNode> current = index(mapper.readTree(result.toFile()));
+        Map<String, JsonNode> previous = index(mapper.readTree(baseline.toFile()));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = previous.get(entry.getKey());
+            JsonNode metric = entry.getValue().get("primaryMetric");
+            double score = metric.get("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score, "new");
+                continue;
+            }
+
+            double baseScore = before.get("primaryMetric").get("score").asDouble();
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore * 100;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asString());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), baseScore, score, change,
+                    regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            StringBuilder key = new StringBuilder(run.get("benchmark").asString());
+            JsonNode params = run.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.properties().iterator();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    key.append(' ').append(field.getKey()).append('=').append(field.getValue().asString());
+                }
+            }
+            key.append(" [").append(run.get("mode").asString()).append(']');
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+}
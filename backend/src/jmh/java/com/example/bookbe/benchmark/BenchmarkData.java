@@ -0,0 +1,110 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.OrderDto;
+import com.example.bookbe.dto.OrderItemDto;
+import com.example.bookbe.entity.Author;
+import com.example.bookbe.entity.Book;
+import com.example.bookbe.entity.Category;
+import com.example.bookbe.entity.Order;
+import com.example.bookbe.entity.OrderItem;
+import com.example.bookbe.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+public final class BenchmarkData {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static List<Book> books(int count) {
+        Random random = new Random(42);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Category " + i);
+            categories.add(category);
+        }
+
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Author author = new Author();
+            author.setId((long) (i % 50 + 1));
+            author.setName("Author " + author.getId());
+
+            Book book = new Book();
+            book.setId((long) i);
+            book.setTitle("Book title number " + i);
+            book.setDescription("A fairly long description of book " + i + ". ".repeat(20));
+            book.setPrice(BigDecimal.valueOf(500 + random.nextInt(5000), 2));
+            book.setStock(random.nextInt(100));
+            book.setIsbn("978-" + (1000000000L + i));
+            book.setPublicationDate(NOW.minusDays(i));
+            book.setImageUrl(i + ".jpg");
+            book.setAuthor(author);
+            book.setCategories(List.of(categories.get(i % 8), categories.get((i + 3) % 8)));
+            book.setCreatedAt(NOW);
+            book.setUpdatedAt(NOW);
+            books.add(book);
+        }
+        return books;
+    }
+
+    public static List<BookDto> bookDtos(int count) {
+        List<BookDto> dtos = new ArrayList<>(count);
+        for (Book book : books(count)) {
+            dtos.add(new BookDto(book.getId(), book.getTitle(), book.getDescription(), book.getPrice(),
+                    book.getStock(), book.getIsbn(), book.getPublicationDate(), book.getImageUrl(),
+                    book.getAuthor().getId(), book.getAuthor().getName(),
+                    book.getCategories().stream().map(Category::getId).toList(),
+                    book.getCategories().stream().map(Category::getName).toList(),
+                    book.getCreatedAt(), book.getUpdatedAt()));
+        }
+        return dtos;
+    }
+
+    public static Order order(int lineItems) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench");
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        for (Book book : books(lineItems)) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setBook(book);
+            item.setQuantity(1 + (int) (book.getId() % 3));
+            item.setPrice(book.getPrice());
+            order.getOrderItems().add(item);
+        }
+        return order;
+    }
+
+    public static List<OrderDto> orderDtos(int count, int itemsPerOrder) {
+        List<OrderDto> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            List<OrderItemDto> items = new ArrayList<>(itemsPerOrder);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 1; j <= itemsPerOrder; j++) {
+                BigDecimal price = BigDecimal.valueOf(999 + j, 2);
+                BigDecimal subtotal = price.multiply(BigDecimal.valueOf(j));
+                total = total.add(subtotal);
+                items.add(new OrderItemDto((long) (i * 100 + j), j, price, subtotal, (long) j, "Book title number " + j));
+            }
+            orders.add(new OrderDto((long) i, "ORD-" + i, total, Order.OrderStatus.PENDING, "1 Bench Street",
+                    1L, "bench", items, NOW, NOW));
+        }
+        return orders;
+    }
+}
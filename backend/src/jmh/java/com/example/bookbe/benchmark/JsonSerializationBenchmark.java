@@ -0,0 +1,57 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.OrderDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+    @Param({"100", "10000"})
+    int size;
+
+    private JsonMapper mapper;
+    private List<BookDto> books;
+    // The same books in the view=card representation
+    private List<Map<String, Object>> bookCards;
+    private List<OrderDto> orders;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        books = BenchmarkData.bookDtos(size);
+        bookCards = books.stream().map(book -> {
+            Map<String, Object> card = new LinkedHashMap<>();
+            card.put("id", book.getId());
+            card.put("title", book.getTitle());
+            card.put("authorName", book.getAuthorName());
+            card.put("price", book.getPrice());
+            card.put("imageUrl", book.getImageUrl());
+            card.put("stock", book.getStock());
+            return card;
+        }).toList();
+        orders = BenchmarkData.orderDtos(size / 10, 5);
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() {
+        return mapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeBookCards() {
+        return mapper.writeValueAsBytes(bookCards);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() {
+        return mapper.writeValueAsBytes(orders);
+    }
+}
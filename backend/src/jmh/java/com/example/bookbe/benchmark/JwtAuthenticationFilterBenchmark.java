@@ -0,0 +1,56 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.entity.User;
+import com.example.bookbe.security.JwtAuthenticationFilter;
+import com.example.bookbe.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtAuthenticationFilter with the user lookup stubbed
+ * out, so only token parsing and security-context work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = JwtBenchmark.newTokenProvider();
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench");
+        user.setPassword("unused");
+        filter = new JwtAuthenticationFilter(tokenProvider, username -> user);
+        authorization = "Bearer " + tokenProvider.generateToken("bench");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws Exception {
+        return doFilter(null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        return doFilter(authorization);
+    }
+
+    private MockHttpServletResponse doFilter(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        if (header != null) {
+            request.addHeader("Authorization", header);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
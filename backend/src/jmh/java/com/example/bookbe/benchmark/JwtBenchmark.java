@@ -0,0 +1,45 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    static final String SECRET = "mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = newTokenProvider();
+        token = tokenProvider.generateToken("bench");
+    }
+
+    static JwtTokenProvider newTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86400000L);
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("bench");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+}
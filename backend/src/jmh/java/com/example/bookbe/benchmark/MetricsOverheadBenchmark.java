@@ -0,0 +1,82 @@
+package com.example.bookbe.benchmark;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the metrics the application records, on the
+ * Prometheus registry it ships with: the http.server.requests timer with
+ * histogram buckets, the SQL accounting summaries, and a @Timed service
+ * call. Run with -t 4 or more to see behaviour under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+    private static final String[] URIS = {"/api/books", "/api/books/{id}", "/api/books/search",
+            "/api/images/books/{filename:.+}", "/api/orders"};
+
+    private PrometheusMeterRegistry registry;
+    private Timer serviceTimer;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        serviceTimer = Timer.builder("bookstore.service")
+                .tags("class", "BookService", "method", "getBookById")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void httpRequestTimer() {
+        // Builder + registry lookup on every request, as the server observation does
+        Timer.builder("http.server.requests")
+                .tags("method", "GET", "uri", uri(), "status", "200", "outcome", "SUCCESS",
+                        "exception", "none", "error", "none")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry)
+                .record(4_200_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void sqlAccounting() {
+        String uri = uri();
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", uri).register(registry).record(3);
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .tags("method", "GET", "uri", uri).register(registry).record(12);
+        Timer.builder("http.server.requests.sql.time")
+                .tags("method", "GET", "uri", uri).register(registry).record(900_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timedServiceCall() {
+        Timer.Sample sample = Timer.start(registry);
+        sample.stop(serviceTimer);
+    }
+
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    private static String uri() {
+        return URIS[(int) (Thread.currentThread().threadId() % URIS.length)];
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.entity.Order;
+import com.example.bookbe.entity.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pricing part of OrderService.createOrder: per-line subtotal via
+ * OrderItem.calculateSubtotal and a BigDecimal running total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderPricingBenchmark {
+    @Param({"1", "10", "50"})
+    int lineItems;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(lineItems);
+    }
+
+    @Benchmark
+    public BigDecimal priceOrder() {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (OrderItem item : order.getOrderItems()) {
+            item.calculateSubtotal();
+            totalAmount = totalAmount.add(item.getSubtotal());
+        }
+        return totalAmount;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.bookbe.benchmark;
+
+import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.OrderDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against the binary formats the API negotiates (CBOR, Smile) for a
+ * 10k-book list and 1k orders: encode and decode time here, payload sizes
+ * (raw and gzipped) printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<BookDto>> BOOK_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<OrderDto>> ORDER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    private ObjectMapper mapper;
+    private List<BookDto> books;
+    private List<OrderDto> orders;
+    private byte[] encodedBooks;
+    private byte[] encodedOrders;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+            case "smile" -> SmileMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+            default -> JsonMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+        };
+        books = BenchmarkData.bookDtos(10_000);
+        orders = BenchmarkData.orderDtos(1_000, 5);
+        encodedBooks = mapper.writeValueAsBytes(books);
+        encodedOrders = mapper.writeValueAsBytes(orders);
+        System.out.printf("%n%s payload: books %d bytes (%d gzipped), orders %d bytes (%d gzipped)%n", format,
+                encodedBooks.length, gzippedLength(encodedBooks), encodedOrders.length, gzippedLength(encodedOrders));
+    }
+
+    @Benchmark
+    public byte[] encodeBooks() {
+        return mapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<BookDto> decodeBooks() {
+        return mapper.readValue(encodedBooks, BOOK_LIST);
+    }
+
+    @Benchmark
+    public byte[] encodeOrders() {
+        return mapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<OrderDto> decodeOrders() {
+        return mapper.readValue(encodedOrders, ORDER_LIST);
+    }
+
+    private static int gzippedLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.size();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.benchmark.BenchmarkData;
+import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.entity.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookServiceBenchmark {
+    @Param({"1", "1000"})
+    int books;
+
+    private BookService bookService;
+    private List<Book> fixture;
+
+    @Setup
+    public void setUp() {
+        // convertToDto only touches the entity graph, not the repositories
+        bookService = new BookService(null, null, null, null);
+        fixture = BenchmarkData.books(books);
+    }
+
+    @Benchmark
+    public void convertToDto(Blackhole blackhole) {
+        for (Book book : fixture) {
+            BookDto dto = bookService.convertToDto(book);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.BookBeApplication;
+import com.example.bookbe.dto.CreateOrderRequest;
+import com.example.bookbe.dto.OrderDto;
+import com.example.bookbe.dto.OrderItemRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout write latency: OrderService.createOrder end to end against the
+ * embedded database, i.e. the book lookups, the order and line item inserts
+ * and the stock updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutBenchmark {
+    @Param({"1", "10", "50"})
+    int lineItems;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Long userId;
+    private CreateOrderRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BookBeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:checkout_" + lineItems
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "data.seed.enabled=false", "sql.monitor.enabled=false", "image.gc.enabled=false")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, enabled) "
+                + "VALUES ('bench', 'bench@example.test', 'unused', 'USER', TRUE)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'bench'", Long.class);
+        jdbcTemplate.update("INSERT INTO authors (name) VALUES ('Bench Author')");
+        Long authorId = jdbcTemplate.queryForObject("SELECT id FROM authors WHERE name = 'Bench Author'", Long.class);
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lineItems; i++) {
+            // Enough stock that no iteration runs out
+            jdbcTemplate.update("INSERT INTO books (title, price, stock, isbn, author_id) VALUES (?, 12.50, ?, ?, ?)",
+                    "Bench Book " + i, 1_000_000_000, "BENCH-" + i, authorId);
+            items.add(new OrderItemRequest(jdbcTemplate.queryForObject(
+                    "SELECT id FROM books WHERE isbn = ?", Long.class, "BENCH-" + i), 1));
+        }
+        request = new CreateOrderRequest("1 Bench Street", items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        return orderService.createOrder(userId, request);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.bookbe.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Identifiers the scenarios draw from. Book ids are ordered by popularity:
+ * lower indexes receive more traffic.
+ */
+public record Dataset(List<Long> bookIds, List<Long> categoryIds, List<String> imageNames,
+                      List<String> searchTerms) {
+
+    /**
+     * Builds the dataset from a running server's public catalog endpoints,
+     * for runs against an existing deployment.
+     */
+    public static Dataset discover(HttpClient client, JsonMapper mapper, String baseUrl)
+            throws IOException, InterruptedException {
+        JsonNode books = get(client, mapper, baseUrl + "/api/books?fields=id,title,imageUrl");
+        List<Long> bookIds = new ArrayList<>();
+        Set<String> images = new LinkedHashSet<>();
+        Set<String> terms = new LinkedHashSet<>();
+        for (JsonNode book : books) {
+            bookIds.add(book.get("id").asLong());
+            String imageUrl = book.path("imageUrl").asString("");
+            if (!imageUrl.isEmpty() && !imageUrl.startsWith("http")) {
+                images.add(imageUrl);
+            }
+            String[] words = book.path("title").asString("").split("\\s+");
+            if (words.length > 0 && words[0].length() > 2) {
+                terms.add(words[0]);
+            }
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (JsonNode category : get(client, mapper, baseUrl + "/api/categories")) {
+            categoryIds.add(category.get("id").asLong());
+        }
+        if (bookIds.isEmpty() || categoryIds.isEmpty()) {
+            throw new IllegalStateException("Target has no books or categories to load test against");
+        }
+        return new Dataset(bookIds, categoryIds, new ArrayList<>(images), new ArrayList<>(terms));
+    }
+
+    private static JsonNode get(HttpClient client, JsonMapper mapper, String url)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+}
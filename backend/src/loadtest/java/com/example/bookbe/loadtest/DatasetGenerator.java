@@ -0,0 +1,69 @@
+package com.example.bookbe.loadtest;
+
+import com.example.bookbe.util.BulkDataGenerator;
+import com.example.bookbe.util.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a production-shaped catalog for the embedded run: uploads the images,
+ * then writes authors, categories, books with skewed popularity, users (all
+ * sharing one password hash, since bcrypt per row would dominate the run)
+ * and order history through {@link BulkDataGenerator}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    public static final String USER_PASSWORD = "loadtest123";
+
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final FileStorageService fileStorageService;
+
+    public record DatasetSpec(int authors, int categories, int books, int users, int orders,
+                              int maxItemsPerOrder, int images) {
+    }
+
+    public Dataset generate(DatasetSpec spec, long seed) throws IOException, SQLException {
+        Random random = new Random(seed);
+        List<String> imageNames = new ArrayList<>();
+        for (int i = 0; i < spec.images(); i++) {
+            imageNames.add(fileStorageService.storeFile(new MockMultipartFile(
+                    "image", "lt-" + i + ".png", "image/png", randomPng(random, 4_096 + random.nextInt(60_000)))));
+        }
+
+        BulkDataGenerator.GeneratedDataset generated = new BulkDataGenerator(dataSource,
+                passwordEncoder.encode(USER_PASSWORD)).generate(new BulkDataGenerator.DatasetSpec(spec.authors(),
+                        spec.categories(), spec.books(), spec.users(), spec.orders(), spec.maxItemsPerOrder(),
+                        imageNames), seed, ROWS_PER_STATEMENT, false);
+
+        return new Dataset(generated.books().ids(), generated.categories().ids(), imageNames,
+                BulkDataGenerator.TITLE_WORDS);
+    }
+
+    /**
+     * Skews demand towards low indexes so a small head of the catalog gets most traffic.
+     */
+    static int popularBook(Random random, int bookCount) {
+        return BulkDataGenerator.popular(random, bookCount, 3);
+    }
+
+    private static byte[] randomPng(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        System.arraycopy(PNG_SIGNATURE, 0, bytes, 0, PNG_SIGNATURE.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bookbe.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error counters for one endpoint. Latencies are
+ * measured from the intended start time of a request, so queueing caused by
+ * a slow server is included (no coordinated omission).
+ */
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1000)));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    // Arrival could not be dispatched because the client hit its in-flight cap
+    public void drop() {
+        dropped.increment();
+    }
+
+    public void reset() {
+        histogram.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public double getErrorRate() {
+        long attempts = getCount() + getDropped();
+        return attempts == 0 ? 0.0 : (double) (getErrors() + getDropped()) / attempts;
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+}
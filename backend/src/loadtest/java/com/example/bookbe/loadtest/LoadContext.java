@@ -0,0 +1,63 @@
+package com.example.bookbe.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared state for one run: the HTTP client, the dataset and the sessions
+ * obtained during setup.
+ */
+public class LoadContext {
+    private static final int MAX_PENDING_ORDERS = 10_000;
+
+    final HttpClient client;
+    final JsonMapper mapper;
+    final String baseUrl;
+    final Dataset dataset;
+    final List<Session> sessions;
+    final String adminToken;
+    final String runId;
+
+    private final Queue<Long> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingOrderCount = new AtomicInteger();
+    private final AtomicLong registrations = new AtomicLong();
+
+    public record Session(String username, String password, String token) {
+    }
+
+    public LoadContext(HttpClient client, JsonMapper mapper, String baseUrl, Dataset dataset,
+                       List<Session> sessions, String adminToken, String runId) {
+        this.client = client;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.sessions = sessions;
+        this.adminToken = adminToken;
+        this.runId = runId;
+    }
+
+    void offerPendingOrder(long orderId) {
+        if (pendingOrderCount.get() < MAX_PENDING_ORDERS) {
+            pendingOrders.add(orderId);
+            pendingOrderCount.incrementAndGet();
+        }
+    }
+
+    Long pollPendingOrder() {
+        Long orderId = pendingOrders.poll();
+        if (orderId != null) {
+            pendingOrderCount.decrementAndGet();
+        }
+        return orderId;
+    }
+
+    long nextRegistration() {
+        return registrations.incrementAndGet();
+    }
+}
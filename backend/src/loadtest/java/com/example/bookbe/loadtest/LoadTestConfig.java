@@ -0,0 +1,80 @@
+package com.example.bookbe.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as name=value (a leading -- is accepted).
+ */
+public record LoadTestConfig(
+        String target,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<String, Integer> mix,
+        int maxInFlight,
+        int sessionUsers,
+        String adminUsername,
+        String adminPassword,
+        DatasetGenerator.DatasetSpec dataset,
+        String report,
+        long seed,
+        boolean virtualThreads,
+        long dbLatencyMillis,
+        int poolSize) {
+
+    static final String DEFAULT_MIX = "books.list:5,books.detail:30,books.category:10,books.search:15,images:15,"
+            + "auth.login:3,auth.register:1,orders.checkout:10,orders.mine:5,admin.orders:3,admin.order-status:3";
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+
+        DatasetGenerator.DatasetSpec dataset = new DatasetGenerator.DatasetSpec(
+                intOption(options, "authors", 200),
+                intOption(options, "categories", 30),
+                intOption(options, "books", 2000),
+                intOption(options, "users", 500),
+                intOption(options, "orders", 2000),
+                intOption(options, "max-items-per-order", 5),
+                intOption(options, "images", 50));
+
+        return new LoadTestConfig(
+                options.get("target"),
+                Double.parseDouble(options.getOrDefault("rate", "50")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                intOption(options, "max-in-flight", 2000),
+                intOption(options, "session-users", 50),
+                options.getOrDefault("admin-user", "admin"),
+                options.getOrDefault("admin-password", "admin123"),
+                dataset,
+                options.getOrDefault("report", "target/loadtest-report.json"),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false")),
+                Long.parseLong(options.getOrDefault("db-latency-ms", "0")),
+                intOption(options, "pool-size", 10));
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bookbe.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Prints the per-endpoint summary and writes it as JSON so runs can be
+ * compared over time.
+ */
+public final class LoadTestReport {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestReport() {
+    }
+
+    public static void print(Map<String, EndpointStats> stats, Duration duration) {
+        System.out.printf("%n%-20s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            System.out.printf("%-20s %9d %8d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.getName(), endpoint.getCount(), endpoint.getErrors() + endpoint.getDropped(),
+                    endpoint.getCount() / (double) duration.toSeconds(),
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(90), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9), endpoint.maxMillis());
+        }
+        System.out.println();
+    }
+
+    public static void write(Path file, LoadTestConfig config, Map<String, EndpointStats> stats, JsonMapper mapper)
+            throws IOException {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("timestamp", Instant.now().toString());
+        root.put("target", config.target() == null ? "embedded" : config.target());
+        root.put("rate", config.rate());
+        root.put("durationSeconds", config.duration().toSeconds());
+        root.put("virtualThreads", config.virtualThreads());
+        root.put("dbLatencyMillis", config.dbLatencyMillis());
+        ObjectNode mix = root.putObject("mix");
+        config.mix().forEach(mix::put);
+
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (EndpointStats endpoint : stats.values()) {
+            ObjectNode node = endpoints.addObject();
+            node.put("name", endpoint.getName());
+            node.put("requests", endpoint.getCount());
+            node.put("errors", endpoint.getErrors());
+            node.put("dropped", endpoint.getDropped());
+            node.put("throughput", endpoint.getCount() / (double) config.duration().toSeconds());
+            ObjectNode latency = node.putObject("latencyMillis");
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                        endpoint.percentileMillis(percentile));
+            }
+            latency.put("max", endpoint.maxMillis());
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.bookbe.loadtest;
+
+import com.example.bookbe.BookBeApplication;
+import com.example.bookbe.util.FileStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point of the load test suite. Without a target it boots the
+ * application in-process on a random port against the in-memory test
+ * database and seeds it with {@link DatasetGenerator}; with target=<url> it runs
+ * against an existing deployment and discovers the catalog through the API.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        JsonMapper mapper = JsonMapper.builder().build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        ConfigurableApplicationContext application = null;
+        SlowDatabase slowDatabase = config.dbLatencyMillis() > 0 ? new SlowDatabase(config.dbLatencyMillis()) : null;
+        try {
+            String baseUrl;
+            Dataset dataset;
+            if (config.target() == null) {
+                application = startEmbedded(config, slowDatabase);
+                baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+                dataset = new DatasetGenerator(application.getBean(DataSource.class),
+                        application.getBean(PasswordEncoder.class), application.getBean(FileStorageService.class))
+                        .generate(config.dataset(), config.seed());
+            } else {
+                baseUrl = config.target().replaceAll("/+$", "");
+                dataset = Dataset.discover(client, mapper, baseUrl);
+            }
+
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            LoadContext context = new LoadContext(client, mapper, baseUrl, dataset,
+                    openSessions(client, mapper, baseUrl, runId, config.sessionUsers()),
+                    login(client, mapper, baseUrl, config.adminUsername(), config.adminPassword()), runId);
+            seedPendingOrders(context);
+            if (slowDatabase != null) {
+                slowDatabase.enable();
+            }
+
+            Map<String, EndpointStats> stats = new OpenModelDriver(context, config.mix(), config.rate(),
+                    config.maxInFlight(), config.seed()).run(config.warmup(), config.duration());
+
+            LoadTestReport.print(stats, config.duration());
+            Path report = Path.of(config.report());
+            LoadTestReport.write(report, config, stats, mapper);
+            log.info("Report written to {}", report.toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(LoadTestConfig config, SlowDatabase slowDatabase)
+            throws Exception {
+        Path uploads = Files.createTempDirectory("bookbe-loadtest-uploads");
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BookBeApplication.class)
+                .properties(
+                        "server.port=0",
+                        "file.upload-dir=" + uploads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "image.gc.enabled=false",
+                        "spring.threads.virtual.enabled=" + config.virtualThreads(),
+                        "spring.datasource.hikari.maximum-pool-size=" + config.poolSize());
+        if (slowDatabase != null) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(slowDatabase));
+        }
+        return builder.run();
+    }
+
+    /**
+     * Registers fresh users for the authenticated scenarios; their tokens are
+     * reused for the whole run.
+     */
+    private static List<LoadContext.Session> openSessions(HttpClient client, JsonMapper mapper, String baseUrl,
+                                                          String runId, int count) throws Exception {
+        List<LoadContext.Session> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String username = "lt_" + runId + "_s" + i;
+            HttpResponse<String> response = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Scenarios.registerBody(username))).build());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Could not register " + username + ": " + response.statusCode());
+            }
+            sessions.add(new LoadContext.Session(username, DatasetGenerator.USER_PASSWORD,
+                    mapper.readTree(response.body()).get("token").asString()));
+        }
+        return sessions;
+    }
+
+    private static String login(HttpClient client, JsonMapper mapper, String baseUrl, String username, String password)
+            throws Exception {
+        HttpResponse<String> response = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        String.format("{\"username\":\"%s\",\"password\":\"%s\"}", username, password))).build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed: " + response.statusCode());
+        }
+        return mapper.readTree(response.body()).get("token").asString();
+    }
+
+    private static void seedPendingOrders(LoadContext context) throws Exception {
+        HttpResponse<String> response = send(context.client,
+                HttpRequest.newBuilder(URI.create(context.baseUrl + "/api/orders/status/PENDING"))
+                        .header("Authorization", "Bearer " + context.adminToken).GET().build());
+        if (response.statusCode() == 200) {
+            for (JsonNode order : context.mapper.readTree(response.body())) {
+                context.offerPendingOrder(order.get("id").asLong());
+            }
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.bookbe.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload model: requests arrive on a Poisson schedule at the target
+ * rate regardless of how quickly earlier ones complete, each on its own
+ * virtual thread. Latency is taken from the scheduled arrival time, so a
+ * stalled server shows up as queueing delay instead of a lower request rate.
+ */
+@Slf4j
+public class OpenModelDriver {
+    private final LoadContext context;
+    private final double rate;
+    private final int maxInFlight;
+    private final Random arrivals;
+    private final String[] names;
+    private final int[] cumulativeWeights;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    public OpenModelDriver(LoadContext context, Map<String, Integer> mix, double rate, int maxInFlight, long seed) {
+        this.context = context;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.arrivals = new Random(seed);
+
+        List<Map.Entry<String, Integer>> entries = mix.entrySet().stream().filter(e -> e.getValue() > 0).toList();
+        this.names = new String[entries.size()];
+        this.cumulativeWeights = new int[entries.size()];
+        int total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            String name = entries.get(i).getKey();
+            if (!Scenarios.ALL.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown scenario '" + name + "', expected one of " + Scenarios.ALL.keySet());
+            }
+            total += entries.get(i).getValue();
+            names[i] = name;
+            cumulativeWeights[i] = total;
+            stats.put(name, new EndpointStats(name));
+        }
+    }
+
+    /**
+     * Drives the warmup, discards its measurements, then drives the measured
+     * window and waits for outstanding requests to finish.
+     */
+    public Map<String, EndpointStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (!warmup.isZero()) {
+                log.info("Warming up for {}s at {} req/s", warmup.toSeconds(), rate);
+                drive(executor, inFlight, warmup);
+                stats.values().forEach(EndpointStats::reset);
+            }
+            log.info("Measuring for {}s at {} req/s", duration.toSeconds(), rate);
+            drive(executor, inFlight, duration);
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Requests still outstanding after the measured window");
+            }
+        }
+        return stats;
+    }
+
+    private void drive(ExecutorService executor, Semaphore inFlight, Duration window) {
+        long start = System.nanoTime();
+        long end = start + window.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long next = start;
+
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long intendedStart = next;
+            String name = pick();
+            EndpointStats endpoint = stats.get(name);
+            if (inFlight.tryAcquire()) {
+                executor.execute(() -> {
+                    try {
+                        execute(Scenarios.ALL.get(name), endpoint, intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                endpoint.drop();
+            }
+            next += (long) (-Math.log(1.0 - arrivals.nextDouble()) * meanIntervalNanos);
+        }
+    }
+
+    private void execute(Scenarios.Scenario scenario, EndpointStats endpoint, long intendedStart) {
+        HttpRequest request = scenario.build(context, ThreadLocalRandom.current());
+        if (request == null) {
+            return;
+        }
+        boolean success;
+        try {
+            HttpResponse<String> response = context.client.send(request, HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() < 400;
+            if (success) {
+                scenario.onResponse(context, response);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            success = false;
+        }
+        endpoint.record(System.nanoTime() - intendedStart, success);
+    }
+
+    private String pick() {
+        int roll = arrivals.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return names[i];
+            }
+        }
+        return names[names.length - 1];
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.bookbe.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The traffic mix building blocks, one per endpoint family. Names are what
+ * the mix option refers to.
+ */
+public final class Scenarios {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public interface Scenario {
+        /**
+         * Returns the request to send, or null when the scenario has nothing to do
+         * (e.g. no images in the dataset).
+         */
+        HttpRequest build(LoadContext context, ThreadLocalRandom random);
+
+        default void onResponse(LoadContext context, HttpResponse<String> response) {
+        }
+    }
+
+    public static final Map<String, Scenario> ALL = new LinkedHashMap<>();
+
+    static {
+        // The storefront grids ask for the card view
+        ALL.put("books.list", (context, random) -> get(context, "/api/books?view=card"));
+        ALL.put("books.detail", (context, random) ->
+                get(context, "/api/books/" + popularBook(context, random)));
+        ALL.put("books.category", (context, random) ->
+                get(context, "/api/books/category/" + pick(context.dataset.categoryIds(), random) + "?view=card"));
+        ALL.put("books.search", (context, random) -> get(context, "/api/books/search?view=card&title="
+                + URLEncoder.encode(pick(context.dataset.searchTerms(), random), StandardCharsets.UTF_8)));
+        ALL.put("images", (context, random) -> context.dataset.imageNames().isEmpty() ? null
+                : get(context, "/api/images/books/" + pick(context.dataset.imageNames(), random)));
+
+        ALL.put("auth.login", (context, random) -> {
+            LoadContext.Session session = pick(context.sessions, random);
+            return post(context, "/api/auth/login", null, String.format(
+                    "{\"username\":\"%s\",\"password\":\"%s\"}", session.username(), session.password()));
+        });
+        ALL.put("auth.register", (context, random) -> {
+            String username = "lt_" + context.runId + "_r" + context.nextRegistration();
+            return post(context, "/api/auth/register", null, registerBody(username));
+        });
+
+        ALL.put("orders.checkout", new Scenario() {
+            @Override
+            public HttpRequest build(LoadContext context, ThreadLocalRandom random) {
+                StringJoiner items = new StringJoiner(",", "[", "]");
+                int count = 1 + random.nextInt(3);
+                for (int i = 0; i < count; i++) {
+                    items.add("{\"bookId\":" + popularBook(context, random) + ",\"quantity\":1}");
+                }
+                return post(context, "/api/orders", pick(context.sessions, random).token(),
+                        "{\"shippingAddress\":\"1 Load Test Way\",\"items\":" + items + "}");
+            }
+
+            @Override
+            public void onResponse(LoadContext context, HttpResponse<String> response) {
+                if (response.statusCode() == 201) {
+                    context.offerPendingOrder(context.mapper.readTree(response.body()).get("id").asLong());
+                }
+            }
+        });
+        ALL.put("orders.mine", (context, random) ->
+                authorized(context, "/api/orders", pick(context.sessions, random).token()).GET().build());
+
+        ALL.put("admin.orders", (context, random) ->
+                authorized(context, "/api/orders/status/PENDING", context.adminToken).GET().build());
+        ALL.put("admin.order-status", (context, random) -> {
+            Long orderId = context.pollPendingOrder();
+            return orderId == null ? null : authorized(context,
+                    "/api/orders/" + orderId + "/status?status=PROCESSING", context.adminToken)
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+        });
+    }
+
+    private Scenarios() {
+    }
+
+    static String registerBody(String username) {
+        return String.format("{\"username\":\"%s\",\"email\":\"%s@loadtest.local\",\"password\":\"%s\"," +
+                "\"firstName\":\"Load\",\"lastName\":\"Test\"}", username, username, DatasetGenerator.USER_PASSWORD);
+    }
+
+    static HttpRequest post(LoadContext context, String path, String token, String json) {
+        return authorized(context, path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest get(LoadContext context, String path) {
+        return authorized(context, path, null).GET().build();
+    }
+
+    private static HttpRequest.Builder authorized(LoadContext context, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(context.baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static long popularBook(LoadContext context, ThreadLocalRandom random) {
+        List<Long> bookIds = context.dataset.bookIds();
+        return bookIds.get(DatasetGenerator.popularBook(random, bookIds.size()));
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.bookbe.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds a fixed delay to every statement execution of the embedded database,
+ * to approximate a remote MySQL under load. Off until {@link #enable()} so
+ * seeding and session setup run at full speed.
+ */
+public class SlowDatabase implements BeanPostProcessor {
+    private final long latencyMillis;
+    private volatile boolean enabled;
+
+    public SlowDatabase(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public void enable() {
+        enabled = true;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return proxy(Connection.class, connection, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return delayed(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+            }
+        };
+    }
+
+    private Object delayed(Statement statement, Class<?> type) {
+        return proxy(type, statement, (proxy, method, args) -> {
+            if (enabled && method.getName().startsWith("execute")) {
+                Thread.sleep(latencyMillis);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
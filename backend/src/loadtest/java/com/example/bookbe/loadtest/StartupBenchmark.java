@@ -0,0 +1,230 @@
+package com.example.bookbe.loadtest;
+
+import com.example.bookbe.BookBeApplication;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures time-to-first-successful-request: each run launches the
+ * application in a fresh JVM on the in-memory test database and polls
+ * GET /api/books until it returns 200. Configurations:
+ * <ul>
+ *   <li>baseline - plain JVM</li>
+ *   <li>lazy - spring.main.lazy-initialization=true</li>
+ *   <li>cds - application class-data-sharing archive from a training run</li>
+ *   <li>aot - Spring AOT generated context (build with -Pfast-startup)</li>
+ *   <li>aot-cds - both, as in the container image</li>
+ * </ul>
+ * Class directories are packed into jars first, as CDS only archives classes
+ * loaded from jars.
+ */
+@Slf4j
+public class StartupBenchmark {
+    private static final List<String> ALL_CONFIGS = List.of("baseline", "lazy", "cds", "aot", "aot-cds");
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int eq = option.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            options.put(option.substring(0, eq), option.substring(eq + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "3"));
+        List<String> configs = options.containsKey("configs")
+                ? Arrays.asList(options.get("configs").split(",")) : ALL_CONFIGS;
+        Path workDir = Path.of(options.getOrDefault("work-dir", "target/startup-benchmark"));
+        Path report = Path.of(options.getOrDefault("report", "target/startup-report.json"));
+
+        Files.createDirectories(workDir);
+        String classpath = packClasspath(workDir);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        for (String config : configs) {
+            List<String> jvmArgs = jvmArgs(config, workDir, classpath);
+            List<Long> times = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                times.add(timeToFirstRequest(client, classpath, jvmArgs, workDir.resolve(config + ".log")));
+                log.info("{} run {}: {} ms", config, run + 1, times.getLast());
+            }
+            results.put(config, times);
+        }
+
+        print(results);
+        write(report, runs, results);
+        log.info("Report written to {}", report.toAbsolutePath());
+    }
+
+    private static List<String> jvmArgs(String config, Path workDir, String classpath) throws Exception {
+        List<String> jvmArgs = new ArrayList<>();
+        if (config.startsWith("aot")) {
+            if (BookBeApplication.class.getClassLoader()
+                    .getResource("com/example/bookbe/BookBeApplication__ApplicationContextInitializer.class") == null) {
+                throw new IllegalStateException("No AOT classes found; run with -Pfast-startup");
+            }
+            jvmArgs.add("-Dspring.aot.enabled=true");
+        }
+        switch (config) {
+            case "baseline", "aot" -> { }
+            case "lazy" -> jvmArgs.add("-Dspring.main.lazy-initialization=true");
+            case "cds", "aot-cds" -> {
+                Path archive = workDir.resolve(config + ".jsa").toAbsolutePath();
+                train(classpath, jvmArgs, archive, workDir.resolve(config + "-training.log"));
+                jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+            }
+            default -> throw new IllegalArgumentException("Unknown configuration: " + config);
+        }
+        return jvmArgs;
+    }
+
+    /**
+     * Starts and refreshes the context once, then dumps the loaded classes.
+     */
+    private static void train(String classpath, List<String> jvmArgs, Path archive, Path logFile) throws Exception {
+        Files.deleteIfExists(archive);
+        List<String> trainingArgs = new ArrayList<>(jvmArgs);
+        trainingArgs.add("-XX:ArchiveClassesAtExit=" + archive);
+        trainingArgs.add("-Dspring.context.exit=onRefresh");
+        Process process = launch(classpath, trainingArgs, logFile);
+        if (!process.waitFor(START_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run failed, see " + logFile);
+        }
+    }
+
+    private static long timeToFirstRequest(HttpClient client, String classpath, List<String> jvmArgs, Path logFile)
+            throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.add("-Dserver.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = launch(classpath, args, logFile);
+        try {
+            while (System.nanoTime() - start < START_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited during startup, see " + logFile);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful request within " + START_TIMEOUT + ", see " + logFile);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process launch(String classpath, List<String> jvmArgs, Path logFile) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(BookBeApplication.class.getName());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    /**
+     * Returns this JVM's classpath with every directory replaced by a jar of its contents.
+     */
+    private static String packClasspath(Path workDir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(java.io.File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = workDir.resolve(path.getFileName() + ".jar").toAbsolutePath();
+                packDirectory(path, jar);
+                entries.add(jar.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return String.join(java.io.File.pathSeparator, entries);
+    }
+
+    private static void packDirectory(Path directory, Path jar) throws IOException {
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jarOut = new JarOutputStream(out);
+             Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(path -> !path.equals(directory)).sorted()::iterator) {
+                String name = directory.relativize(file).toString().replace('\\', '/');
+                // Directory entries too, so resource scanning (Flyway, component scan) finds them
+                if (Files.isDirectory(file)) {
+                    jarOut.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jarOut.putNextEntry(new JarEntry(name));
+                    Files.copy(file, jarOut);
+                }
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    private static void print(Map<String, List<Long>> results) {
+        System.out.printf("%n%-12s %8s %8s %8s   %s%n", "config", "min ms", "median", "max ms", "runs");
+        results.forEach((config, times) -> {
+            List<Long> sorted = times.stream().sorted().toList();
+            System.out.printf("%-12s %8d %8d %8d   %s%n", config, sorted.getFirst(),
+                    sorted.get(sorted.size() / 2), sorted.getLast(), times);
+        });
+    }
+
+    private static void write(Path report, int runs, Map<String, List<Long>> results) throws IOException {
+        JsonMapper mapper = JsonMapper.builder().build();
+        ObjectNode root = mapper.createObjectNode();
+        root.put("runs", runs);
+        root.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        ObjectNode configs = root.putObject("timeToFirstRequestMillis");
+        results.forEach((config, times) -> {
+            ArrayNode values = configs.putArray(config);
+            times.forEach(values::add);
+        });
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), root);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookbe.config;
+
+import java.util.Collection;
+
+/**
+ * Published inside the transaction that created, changed or deleted the
+ * given books (including their stock), for listeners that mirror book state.
+ */
+public record BooksChangedEvent(Collection<Long> bookIds) {
+}
@@ -0,0 +1,8 @@
+package com.example.bookbe.config;
+
+/**
+ * Published when catalog rows change outside an HTTP write, e.g. by the
+ * startup seeding, so that cached catalog responses are dropped.
+ */
+public record CatalogChangedEvent(String source) {
+}
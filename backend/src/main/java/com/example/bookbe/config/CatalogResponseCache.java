@@ -0,0 +1,246 @@
+package com.example.bookbe.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves anonymous catalog reads (books, authors, categories) from the bytes
+ * of an earlier identical request, kept both as serialized JSON and, above
+ * the compression threshold, gzipped, together with its validators. A hit
+ * skips the handler, Jackson and the compressor, and a conditional hit is
+ * answered with 304. Any successful write to the catalog or to orders (which
+ * change stock) empties the cache; a response that was being rendered while
+ * such a write finished is not stored.
+ */
+@Slf4j
+@Component
+public class CatalogResponseCache extends OncePerRequestFilter implements Ordered {
+    public static final String CACHE_HEADER = "X-Catalog-Cache";
+
+    private static final List<String> CATALOG_PATHS = List.of("/api/books", "/api/authors", "/api/categories");
+    private static final List<String> INVALIDATING_PATHS =
+            List.of("/api/books", "/api/authors", "/api/categories", "/api/orders");
+    // POST only because the id list may not fit a URL; nothing is written
+    private static final List<String> LOOKUP_PATHS = List.of("/api/books/batch");
+    private static final String GZIP = "gzip";
+
+    private final boolean enabled;
+    private final long compressionThreshold;
+    private final Cache<String, CachedResponse> cache;
+    // Bumped by every invalidation, so a render that straddles a write can tell
+    private final AtomicLong generation = new AtomicLong();
+
+    record CachedResponse(String contentType, String cacheControl, String eTag, long lastModified,
+                          byte[] body, byte[] gzipped) {
+        int weight() {
+            return body.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+
+    public CatalogResponseCache(MeterRegistry meterRegistry,
+                                @Value("${catalog.response-cache.enabled:true}") boolean enabled,
+                                @Value("${catalog.response-cache.max-bytes:33554432}") long maxBytes,
+                                @Value("${catalog.response-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold) {
+        this.enabled = enabled;
+        this.compressionThreshold = compressionThreshold.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.responses");
+    }
+
+    @Override
+    public int getOrder() {
+        // After Spring Security (order -100), so hits carry the CORS headers and
+        // the authenticated principal is known
+        return 0;
+    }
+
+    @EventListener(CatalogChangedEvent.class)
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!isCacheableRead(request)) {
+            chain.doFilter(request, response);
+            if (isWrite(request) && matches(request, INVALIDATING_PATHS) && !matches(request, LOOKUP_PATHS)
+                    && response.getStatus() < 400) {
+                invalidate();
+            }
+            return;
+        }
+
+        String key = request.getQueryString() == null
+                ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+        boolean acceptsGzip = acceptsGzip(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            response.setHeader(CACHE_HEADER, "hit");
+            if (cached.cacheControl() != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+            }
+            boolean gzipped = acceptsGzip && cached.gzipped() != null;
+            // Sets ETag and Last-Modified, and the status when the client's copy is current
+            if (new ServletWebRequest(request, response).checkNotModified(
+                    gzipped ? weaken(cached.eTag()) : cached.eTag(), cached.lastModified())) {
+                return;
+            }
+            response.setContentType(cached.contentType());
+            write(response, cached, gzipped);
+            return;
+        }
+
+        long observed = generation.get();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (!isCacheableResponse(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        cached = new CachedResponse(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                wrapper.getHeader(HttpHeaders.ETAG), lastModified(wrapper),
+                body, body.length >= compressionThreshold ? gzip(body) : null);
+        if (generation.get() == observed) {
+            cache.put(key, cached);
+            if (generation.get() != observed) {
+                // Lost a race with a write; drop what may be stale
+                cache.invalidate(key);
+            }
+        }
+        response.setHeader(CACHE_HEADER, "miss");
+        boolean gzipped = acceptsGzip && cached.gzipped() != null;
+        if (gzipped && cached.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, weaken(cached.eTag()));
+        }
+        write(response, cached, gzipped);
+    }
+
+    private static void write(HttpServletResponse response, CachedResponse cached, boolean gzipped)
+            throws IOException {
+        byte[] bytes = cached.body();
+        if (gzipped) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            bytes = cached.gzipped();
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    // A strong ETag names the exact bytes, so the gzipped body can only carry a weak one
+    private static String weaken(String eTag) {
+        return eTag == null || eTag.startsWith("W/") ? eTag : "W/" + eTag;
+    }
+
+    private static long lastModified(HttpServletResponse response) {
+        String value = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isCacheableRead(HttpServletRequest request) {
+        // Only JSON is stored; CBOR and Smile clients go to the handler
+        return "GET".equals(request.getMethod())
+                && WireFormats.preferredBinary(request.getHeader(HttpHeaders.ACCEPT)) == null
+                && request.getUserPrincipal() == null
+                && request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && matches(request, CATALOG_PATHS);
+    }
+
+    private static boolean isCacheableResponse(ContentCachingResponseWrapper wrapper) {
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null
+                || wrapper.containsHeader(HttpHeaders.SET_COOKIE)
+                || wrapper.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        return MediaType.parseMediaType(wrapper.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS", "TRACE" -> false;
+            default -> true;
+        };
+    }
+
+    private static boolean matches(HttpServletRequest request, List<String> paths) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : paths) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accepted = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accepted == null) {
+            return false;
+        }
+        for (String coding : accepted.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP.equals(parts[0].trim()) || "*".equals(parts[0].trim())) {
+                // gzip;q=0 is an explicit refusal
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
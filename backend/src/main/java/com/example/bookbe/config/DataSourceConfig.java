@@ -0,0 +1,46 @@
+package com.example.bookbe.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Bounds pool callers to pool size + db.bulkhead.max-waiting. The default
+     * allowance matches Tomcat's platform thread count, so the limit only
+     * bites once virtual threads lift that cap. Only the application-facing
+     * "dataSource" is wrapped, not the pools behind replica routing.
+     */
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${db.bulkhead.max-waiting:200}") int maxWaiting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, poolSize + maxWaiting);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * With spring.main.lazy-initialization the persistence stack stays eager,
+     * so migration and schema validation failures still stop startup instead
+     * of surfacing on the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+    }
+}
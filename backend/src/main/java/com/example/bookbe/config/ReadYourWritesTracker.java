@@ -0,0 +1,82 @@
+package com.example.bookbe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently so their read-only work
+ * keeps going to the primary until replicas have caught up. Writes are picked
+ * up from every committed read-write transaction; the user is the one bound by
+ * the JWT filter for the request, or the authenticated principal.
+ */
+@Component
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> boundSubject = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(@Value("${db.read-your-writes.window-ms:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void bind(String subject) {
+        boundSubject.set(subject);
+    }
+
+    public void unbind() {
+        boundSubject.remove();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            markWrite(currentSubject());
+        }
+    }
+
+    public void markWrite(String subject) {
+        if (subject == null || windowMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (primaryUntil.size() > PURGE_THRESHOLD) {
+            primaryUntil.values().removeIf(until -> until < now);
+        }
+        primaryUntil.put(subject, now + windowMillis);
+    }
+
+    public boolean mustReadFromPrimary() {
+        if (primaryUntil.isEmpty()) {
+            return false;
+        }
+        String subject = currentSubject();
+        if (subject == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(subject);
+        return until != null && until >= System.currentTimeMillis();
+    }
+
+    private String currentSubject() {
+        String subject = boundSubject.get();
+        if (subject != null) {
+            return subject;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.bookbe.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of multipart uploads processed at once. Multipart parsing is
+ * lazy, so a request waiting here has not buffered its body yet; requests that
+ * cannot get a slot in time are answered with 503 and Retry-After.
+ */
+@Component
+public class UploadConcurrencyInterceptor implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = UploadConcurrencyInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public UploadConcurrencyInterceptor(@Value("${file.upload.max-concurrent:4}") int maxConcurrentUploads,
+                                        @Value("${file.upload.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentUploads), true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/")) {
+            return true;
+        }
+
+        if (permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many concurrent uploads, please retry\",\"status\":\""
+                + HttpStatus.SERVICE_UNAVAILABLE + "\"}");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
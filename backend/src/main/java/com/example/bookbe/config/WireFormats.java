@@ -0,0 +1,50 @@
+package com.example.bookbe.config;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The binary encodings offered next to JSON. They carry the same DTOs and
+ * field names; a client opts in with Accept (and Content-Type for bodies).
+ */
+public final class WireFormats {
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private WireFormats() {
+    }
+
+    /**
+     * The binary format an Accept header asks for ahead of JSON, or null
+     * when JSON (or anything else) would be served.
+     */
+    public static MediaType preferredBinary(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        // Stable, so equal weights keep the client's order
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (CBOR.equalsTypeAndSubtype(type)) {
+                return CBOR;
+            }
+            if (SMILE.equalsTypeAndSubtype(type)) {
+                return SMILE;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
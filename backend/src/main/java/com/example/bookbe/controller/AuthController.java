@@ -1,9 +1,12 @@
 package com.example.bookbe.controller;
 
 import com.example.bookbe.dto.AuthResponse;
+import com.example.bookbe.dto.AvailabilityResponse;
 import com.example.bookbe.dto.LoginRequest;
 import com.example.bookbe.dto.RegisterRequest;
+import com.example.bookbe.exception.DuplicateUserException;
 import com.example.bookbe.service.AuthService;
+import com.example.bookbe.service.UserAvailabilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,23 +18,40 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class AuthController {
     private final AuthService authService;
+    private final UserAvailabilityService userAvailabilityService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (DuplicateUserException e) {
+            // Handled by GlobalExceptionHandler so the client learns which field clashed
+            throw e;
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(value = "username", required = false) String username,
+            @RequestParam(value = "email", required = false) String email) {
+        return ResponseEntity.ok(userAvailabilityService.check(username, email));
+    }
+
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
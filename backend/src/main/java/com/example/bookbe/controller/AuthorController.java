@@ -1,11 +1,14 @@
 package com.example.bookbe.controller;
 
 import com.example.bookbe.dto.AuthorDto;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.service.AuthorService;
+import com.example.bookbe.service.CatalogVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,18 +17,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuthorController {
     private final AuthorService authorService;
+    private final CatalogVersionService catalogVersionService;
 
     @GetMapping
-    public ResponseEntity<List<AuthorDto>> getAllAuthors() {
-        return ResponseEntity.ok(authorService.getAllAuthors());
+    public ResponseEntity<List<AuthorDto>> getAllAuthors(WebRequest request) {
+        return catalogVersionService.consistently(() -> {
+            if (ConditionalRequests.notModified(request, catalogVersionService.authors())) {
+                return null;
+            }
+            return ConditionalRequests.ok(authorService.getAllAuthors());
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorDto> getAuthorById(@PathVariable Long id) {
+    public ResponseEntity<AuthorDto> getAuthorById(@PathVariable Long id, WebRequest request) {
         try {
-            AuthorDto author = authorService.getAuthorById(id);
-            return ResponseEntity.ok(author);
-        } catch (Exception e) {
+            return catalogVersionService.consistently(() -> {
+                if (ConditionalRequests.notModified(request, catalogVersionService.author(id))) {
+                    return null;
+                }
+                return ConditionalRequests.ok(authorService.getAuthorById(id));
+            });
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -36,6 +49,9 @@ public class AuthorController {
             AuthorDto createdAuthor = authorService.createAuthor(authorDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdAuthor);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -45,7 +61,7 @@ public class AuthorController {
         try {
             AuthorDto updatedAuthor = authorService.updateAuthor(id, authorDto);
             return ResponseEntity.ok(updatedAuthor);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -55,7 +71,7 @@ public class AuthorController {
         try {
             authorService.deleteAuthor(id);
             return ResponseEntity.noContent().build();
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
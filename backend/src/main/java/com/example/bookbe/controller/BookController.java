@@ -1,57 +1,127 @@
 package com.example.bookbe.controller;
 
+import com.example.bookbe.dto.BookAdjustmentRequest;
+import com.example.bookbe.dto.BookAdjustmentResult;
 import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.BookImportResult;
+import com.example.bookbe.dto.BookLookup;
+import com.example.bookbe.dto.BookSearchCriteria;
+import com.example.bookbe.exception.ResourceNotFoundException;
+import com.example.bookbe.service.BookAdjustmentService;
+import com.example.bookbe.service.BookImportService;
 import com.example.bookbe.service.BookService;
+import com.example.bookbe.service.CatalogVersionService;
 import com.example.bookbe.util.FileStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/books")
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookAdjustmentService bookAdjustmentService;
     private final FileStorageService fileStorageService;
+    private final CatalogVersionService catalogVersionService;
+
+    // What BookCard shows
+    private static final List<String> CARD_FIELDS = List.of("id", "title", "authorName", "price", "imageUrl", "stock");
 
     @GetMapping
-    public ResponseEntity<List<BookDto>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<List<?>> getAllBooks(
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return list(view, fields, new BookSearchCriteria(), bookService::getAllBooks, request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookDto> getBookById(@PathVariable Long id) {
+    public ResponseEntity<BookDto> getBookById(@PathVariable Long id, WebRequest request) {
         try {
-            BookDto book = bookService.getBookById(id);
-            return ResponseEntity.ok(book);
-        } catch (Exception e) {
+            return catalogVersionService.consistently(() -> {
+                if (ConditionalRequests.notModified(request, catalogVersionService.book(id))) {
+                    return null;
+                }
+                return ConditionalRequests.ok(bookService.getBookById(id));
+            });
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Current state of many books in one round trip (e.g. revalidating a
+     * cart): ids=1,2,3, answered in request order, with found=false for ids
+     * that match no book.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<BookLookup>> getBooksByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
+    /**
+     * The same lookup with the ids as a JSON array body, for lists too long
+     * for a URL. Reads only.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookLookup>> lookUpBooks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<BookDto>> searchBooks(@RequestParam String title) {
-        return ResponseEntity.ok(bookService.searchBooksByTitle(title));
+    public ResponseEntity<List<?>> searchBooks(
+            @RequestParam String title,
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return list(view, fields, new BookSearchCriteria(title, null, null, false),
+                () -> bookService.searchBooksByTitle(title), request);
     }
 
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<List<BookDto>> getBooksByAuthor(@PathVariable Long authorId) {
-        return ResponseEntity.ok(bookService.getBooksByAuthor(authorId));
+    public ResponseEntity<List<?>> getBooksByAuthor(
+            @PathVariable Long authorId,
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return list(view, fields, new BookSearchCriteria(null, authorId, null, false),
+                () -> bookService.getBooksByAuthor(authorId), request);
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<BookDto>> getBooksByCategory(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(bookService.getBooksByCategory(categoryId));
+    public ResponseEntity<List<?>> getBooksByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return list(view, fields, new BookSearchCriteria(null, null, categoryId, false),
+                () -> bookService.getBooksByCategory(categoryId), request);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<BookDto>> getAvailableBooks() {
-        return ResponseEntity.ok(bookService.getAvailableBooks());
+    public ResponseEntity<List<?>> getAvailableBooks(
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+        return list(view, fields, new BookSearchCriteria(null, null, null, true),
+                bookService::getAvailableBooks, request);
     }
 
     @PostMapping(consumes = {"multipart/form-data"})
@@ -93,12 +163,37 @@ public class BookController {
             BookDto createdBook = bookService.createBook(bookDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
         } catch (Exception e) {
-            e.printStackTrace();
-            // Let GlobalExceptionHandler handle the error response
+            // Let GlobalExceptionHandler log it and build the error response
             throw new RuntimeException("Failed to create book: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Bulk upsert on isbn from a CSV (header row; columns isbn, title, price,
+     * stock, author, and optionally description, publicationDate and
+     * categories separated by "|") or NDJSON feed, streamed from the body.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookImportResult> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        BookImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)
+                ? BookImportService.Format.NDJSON : BookImportService.Format.CSV;
+        return ResponseEntity.ok(bookImportService.importBooks(new InputStreamReader(body, charset), format));
+    }
+
+    /**
+     * Sets, increases or decreases price (by amount or percent) and stock
+     * for every book matching authorId, categoryId and/or bookIds.
+     */
+    @PostMapping(value = "/adjustments", consumes = {"application/json"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookAdjustmentResult> adjustBooks(@RequestBody BookAdjustmentRequest request) {
+        return ResponseEntity.ok(bookAdjustmentService.adjust(request));
+    }
+
     @PutMapping(value = "/{id}", consumes = {"multipart/form-data"})
     public ResponseEntity<BookDto> updateBook(
             @PathVariable Long id,
@@ -109,7 +204,7 @@ public class BookController {
             @RequestParam(value = "isbn", required = false) String isbn,
             @RequestParam(value = "authorId", required = false) String authorId,
             @RequestParam(value = "categoryIds", required = false) String[] categoryIdsArray,
-            @RequestParam(value = "image", required = false) MultipartFile imageFile) {
+            @RequestParam(value = "image", required = false) MultipartFile imageFile) throws IOException {
         try {
             // Get existing book
             BookDto existingBook = bookService.getBookById(id);
@@ -135,14 +230,6 @@ public class BookController {
             bookDto.setCategoryIds(categoryIds != null ? categoryIds : existingBook.getCategoryIds());
             
             if (imageFile != null && !imageFile.isEmpty()) {
-                // Delete old image if exists
-                if (existingBook.getImageUrl() != null && !existingBook.getImageUrl().isEmpty()) {
-                    try {
-                        fileStorageService.deleteFile(existingBook.getImageUrl());
-                    } catch (IOException e) {
-                        // Log error but continue
-                    }
-                }
                 // Store new image
                 String filename = fileStorageService.storeFile(imageFile);
                 bookDto.setImageUrl(filename);
@@ -152,8 +239,18 @@ public class BookController {
             }
             
             BookDto updatedBook = bookService.updateBook(id, bookDto);
+
+            // Release old image once the book no longer points at it
+            String oldImageUrl = existingBook.getImageUrl();
+            if (oldImageUrl != null && !oldImageUrl.isEmpty() && !oldImageUrl.equals(updatedBook.getImageUrl())) {
+                try {
+                    fileStorageService.deleteFile(oldImageUrl);
+                } catch (IOException e) {
+                    // Log error but continue
+                }
+            }
             return ResponseEntity.ok(updatedBook);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -165,6 +262,9 @@ public class BookController {
             BookDto createdBook = bookService.createBook(bookDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -174,7 +274,7 @@ public class BookController {
         try {
             BookDto updatedBook = bookService.updateBook(id, bookDto);
             return ResponseEntity.ok(updatedBook);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -184,18 +284,49 @@ public class BookController {
         try {
             // Get book to delete associated image
             BookDto book = bookService.getBookById(id);
+            bookService.deleteBook(id);
             if (book.getImageUrl() != null && !book.getImageUrl().isEmpty()) {
                 try {
+                    // Other books may share the same content-addressed file
                     fileStorageService.deleteFile(book.getImageUrl());
                 } catch (IOException e) {
-                    // Log error but continue with book deletion
+                    // Log error but continue, the book itself is already gone
                 }
             }
-            bookService.deleteBook(id);
             return ResponseEntity.noContent().build();
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
 
+    /**
+     * List endpoints return full BookDtos unless a representation is chosen:
+     * view=card, or fields=title,price,... naming any BookDto fields. Either
+     * way only the selected fields are read from the database. A request
+     * still holding the current catalog version gets a 304 without either.
+     */
+    private ResponseEntity<List<?>> list(String view, String fields, BookSearchCriteria criteria,
+                                         Supplier<List<BookDto>> fullBooks, WebRequest request) {
+        return catalogVersionService.consistently(() -> {
+            if (ConditionalRequests.notModified(request, catalogVersionService.books())) {
+                return null;
+            }
+            return listBody(view, fields, criteria, fullBooks);
+        });
+    }
+
+    private ResponseEntity<List<?>> listBody(String view, String fields, BookSearchCriteria criteria,
+                                             Supplier<List<BookDto>> fullBooks) {
+        List<String> selected;
+        if (fields != null && !fields.isBlank()) {
+            selected = Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty()).toList();
+        } else if ("card".equals(view)) {
+            selected = CARD_FIELDS;
+        } else if (view == null || "full".equals(view)) {
+            return ConditionalRequests.ok(fullBooks.get());
+        } else {
+            throw new IllegalArgumentException("Unknown view: " + view);
+        }
+        return ConditionalRequests.ok(bookService.findBookFields(criteria, selected));
+    }
+}
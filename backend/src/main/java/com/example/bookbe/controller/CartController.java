@@ -0,0 +1,24 @@
+package com.example.bookbe.controller;
+
+import com.example.bookbe.dto.CartQuote;
+import com.example.bookbe.dto.CartQuoteRequest;
+import com.example.bookbe.service.CartService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cart")
+@RequiredArgsConstructor
+public class CartController {
+    private final CartService cartService;
+
+    /**
+     * Current prices, line totals and stock warnings for a cart, computed
+     * from memory. checkoutReady=false means placing the order now would fail.
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<CartQuote> quote(@RequestBody CartQuoteRequest request) {
+        return ResponseEntity.ok(cartService.quote(request));
+    }
+}
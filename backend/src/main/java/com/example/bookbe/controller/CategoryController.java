@@ -1,11 +1,14 @@
 package com.example.bookbe.controller;
 
 import com.example.bookbe.dto.CategoryDto;
+import com.example.bookbe.exception.ResourceNotFoundException;
+import com.example.bookbe.service.CatalogVersionService;
 import com.example.bookbe.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,18 +17,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryController {
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        return catalogVersionService.consistently(() -> {
+            if (ConditionalRequests.notModified(request, catalogVersionService.categories())) {
+                return null;
+            }
+            return ConditionalRequests.ok(categoryService.getAllCategories());
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id, WebRequest request) {
         try {
-            CategoryDto category = categoryService.getCategoryById(id);
-            return ResponseEntity.ok(category);
-        } catch (Exception e) {
+            return catalogVersionService.consistently(() -> {
+                if (ConditionalRequests.notModified(request, catalogVersionService.category(id))) {
+                    return null;
+                }
+                return ConditionalRequests.ok(categoryService.getCategoryById(id));
+            });
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -36,6 +49,9 @@ public class CategoryController {
             CategoryDto createdCategory = categoryService.createCategory(categoryDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdCategory);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -45,7 +61,7 @@ public class CategoryController {
         try {
             CategoryDto updatedCategory = categoryService.updateCategory(id, categoryDto);
             return ResponseEntity.ok(updatedCategory);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -55,7 +71,7 @@ public class CategoryController {
         try {
             categoryService.deleteCategory(id);
             return ResponseEntity.noContent().build();
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
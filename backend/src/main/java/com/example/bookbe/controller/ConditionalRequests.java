@@ -0,0 +1,50 @@
+package com.example.bookbe.controller;
+
+import com.example.bookbe.config.WireFormats;
+import com.example.bookbe.dto.CatalogVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for the catalog controllers: the version is checked
+ * before the body is built, and a match ends the request with 304.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Also sets the ETag and Last-Modified response headers. On a match the
+     * handler returns null, as the 304 is already written. A null version
+     * (missing resource) never matches.
+     */
+    static boolean notModified(WebRequest request, CatalogVersion version) {
+        if (version == null) {
+            return false;
+        }
+        String eTag = representationETag(version.eTag(), request.getHeader(HttpHeaders.ACCEPT));
+        return version.lastModified() != null
+                ? request.checkNotModified(eTag, version.lastModified().toEpochMilli())
+                : request.checkNotModified(eTag);
+    }
+
+    /**
+     * 200 that caches may keep but must revalidate before reuse.
+     */
+    static <T> ResponseEntity<T> ok(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    // JSON, CBOR and Smile are different bytes for the same version
+    private static String representationETag(String eTag, String accept) {
+        MediaType binary = WireFormats.preferredBinary(accept);
+        if (binary == null) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + binary.getSubtype() + "\"";
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bookbe.controller;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Recognises a database that is busy or unreachable (a bulkhead rejection or
+ * a pool timeout) however it was wrapped on the way up, so handlers can
+ * answer 503 instead of treating it as a client error.
+ */
+final class DatabaseFailures {
+
+    private DatabaseFailures() {
+    }
+
+    static boolean isUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CannotCreateTransactionException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
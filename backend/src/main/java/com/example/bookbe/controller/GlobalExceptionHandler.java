@@ -1,7 +1,15 @@
 package com.example.bookbe.controller;
 
+import com.example.bookbe.exception.DuplicateUserException;
+import com.example.bookbe.exception.ResourceNotFoundException;
+import com.example.bookbe.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
@@ -10,11 +18,33 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(DuplicateUserException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateUserException(DuplicateUserException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        error.put("field", e.getField());
+        error.put("status", HttpStatus.CONFLICT.toString());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleResourceNotFoundException(ResourceNotFoundException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        error.put("status", HttpStatus.NOT_FOUND.toString());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException e) {
+        // A busy pool may arrive wrapped, e.g. by authentication or a controller
+        if (DatabaseFailures.isUnavailable(e)) {
+            return handleDatabaseUnavailable(e);
+        }
         Map<String, String> error = new HashMap<>();
         error.put("message", e.getMessage());
         error.put("status", HttpStatus.BAD_REQUEST.toString());
@@ -37,9 +67,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessResourceException.class,
+            CannotCreateTransactionException.class})
+    public ResponseEntity<Map<String, String>> handleDatabaseUnavailable(RuntimeException e) {
+        log.warn("Database unavailable: {}", e.getMessage());
+        return serviceUnavailable("Service is busy, please retry", 1);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        return serviceUnavailable(e.getMessage(), e.getRetryAfterSeconds());
+    }
+
+    private static ResponseEntity<Map<String, String>> serviceUnavailable(String message, int retryAfterSeconds) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.toString());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleException(Exception e) {
-        e.printStackTrace();
+        log.error("Unhandled exception", e);
         Map<String, String> error = new HashMap<>();
         error.put("message", "An error occurred: " + e.getMessage());
         error.put("status", HttpStatus.INTERNAL_SERVER_ERROR.toString());
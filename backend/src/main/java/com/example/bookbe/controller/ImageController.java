@@ -1,42 +1,64 @@
 package com.example.bookbe.controller;
 
 import com.example.bookbe.util.FileStorageService;
+import com.example.bookbe.util.ImageCache;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 @RestController
-@RequestMapping("/api/images/books")
+@RequestMapping("/api/images")
 @RequiredArgsConstructor
 public class ImageController {
     private final FileStorageService fileStorageService;
+    private final ImageCache imageCache;
 
-    @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
-        try {
-            Path filePath = fileStorageService.loadFile(filename);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = determineContentType(filename);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+    @GetMapping("/books/{filename:.+}")
+    public void getImage(@PathVariable String filename, HttpServletResponse response) throws IOException {
+        ByteBuffer content = imageCache.get(filename);
+        Path filePath = null;
+        if (content == null) {
+            try {
+                filePath = fileStorageService.loadFile(filename);
+            } catch (Exception e) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            if (!Files.isRegularFile(filePath) || !Files.isReadable(filePath)) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
             }
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+            content = imageCache.load(filename, filePath);
+        }
+
+        response.setContentType(determineContentType(filename));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
+        if (content != null) {
+            // Written straight from the off-heap buffer
+            response.setContentLengthLong(content.remaining());
+            response.getOutputStream().write(content);
+        } else {
+            // Too large for the cache
+            response.setContentLengthLong(Files.size(filePath));
+            Files.copy(filePath, response.getOutputStream());
         }
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImageCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(imageCache.getStats());
+    }
+
     private String determineContentType(String filename) {
         String lowerFilename = filename.toLowerCase();
         if (lowerFilename.endsWith(".jpg") || lowerFilename.endsWith(".jpeg")) {
@@ -51,4 +73,3 @@ public class ImageController {
         return "application/octet-stream";
     }
 }
-
@@ -3,6 +3,7 @@ package com.example.bookbe.controller;
 import com.example.bookbe.dto.CreateOrderRequest;
 import com.example.bookbe.dto.OrderDto;
 import com.example.bookbe.entity.Order;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.service.OrderService;
 import com.example.bookbe.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
@@ -32,7 +33,7 @@ public class OrderController {
         try {
             OrderDto order = orderService.getOrderById(id);
             return ResponseEntity.ok(order);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -43,6 +44,9 @@ public class OrderController {
             Order.OrderStatus orderStatus = Order.OrderStatus.valueOf(status.toUpperCase());
             return ResponseEntity.ok(orderService.getOrdersByStatus(orderStatus));
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.badRequest().build();
         }
     }
@@ -62,6 +66,9 @@ public class OrderController {
             OrderDto createdOrder = orderService.createOrder(userId, request);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
@@ -75,6 +82,9 @@ public class OrderController {
             OrderDto updatedOrder = orderService.updateOrderStatus(id, orderStatus);
             return ResponseEntity.ok(updatedOrder);
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.badRequest().build();
         }
     }
@@ -85,6 +95,9 @@ public class OrderController {
             orderService.cancelOrder(id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
+            if (DatabaseFailures.isUnavailable(e)) {
+                throw e;
+            }
             return ResponseEntity.badRequest().build();
         }
     }
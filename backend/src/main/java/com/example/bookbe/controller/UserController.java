@@ -1,13 +1,22 @@
 package com.example.bookbe.controller;
 
+import com.example.bookbe.dto.PageResponse;
 import com.example.bookbe.dto.UserDto;
+import com.example.bookbe.dto.UserSearchCriteria;
+import com.example.bookbe.dto.UserSummaryDto;
+import com.example.bookbe.entity.User;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/users")
@@ -16,9 +25,23 @@ import java.util.List;
 public class UserController {
     private final UserService userService;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<PageResponse<UserSummaryDto>> getUsers(
+            @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "role", required = false) User.Role role,
+            @RequestParam(value = "enabled", required = false) Boolean enabled,
+            @RequestParam(value = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(value = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "sort", defaultValue = "createdAt,desc") String sort) {
+        UserSearchCriteria criteria = new UserSearchCriteria(search, role, enabled, createdFrom, createdTo);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), parseSort(sort));
+        return ResponseEntity.ok(PageResponse.of(userService.searchUsers(criteria, pageable)));
     }
 
     @GetMapping("/{id}")
@@ -26,7 +49,7 @@ public class UserController {
         try {
             UserDto user = userService.getUserById(id);
             return ResponseEntity.ok(user);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -36,7 +59,7 @@ public class UserController {
         try {
             UserDto updatedUser = userService.updateUser(id, userDto);
             return ResponseEntity.ok(updatedUser);
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
@@ -46,9 +69,15 @@ public class UserController {
         try {
             userService.deleteUser(id);
             return ResponseEntity.noContent().build();
-        } catch (Exception e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
 
+    private Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        Sort.Direction direction = parts.length > 1 && parts[1].equalsIgnoreCase("asc")
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, parts[0]);
+    }
+}
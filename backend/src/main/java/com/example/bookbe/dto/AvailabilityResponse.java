@@ -0,0 +1,14 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+    // null when the value was not asked for
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+}
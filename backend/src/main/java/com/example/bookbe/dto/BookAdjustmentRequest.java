@@ -0,0 +1,36 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAdjustmentRequest {
+    // Books matching every given criterion are adjusted
+    private Long authorId;
+    private Long categoryId;
+    private List<Long> bookIds;
+
+    // null leaves the column alone
+    private Adjustment price;
+    private Adjustment stock;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Adjustment {
+        private Operation operation;
+        // Exactly one of amount and percent; percent only applies to price
+        private BigDecimal amount;
+        private BigDecimal percent;
+    }
+
+    public enum Operation {
+        SET, INCREASE, DECREASE
+    }
+}
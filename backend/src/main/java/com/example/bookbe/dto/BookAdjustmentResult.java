@@ -0,0 +1,14 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAdjustmentResult {
+    private long updated;
+    private int chunks;
+    private long elapsedMs;
+}
@@ -0,0 +1,33 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BookImportResult {
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long failed;
+    private long authorsCreated;
+    private long categoriesCreated;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+    // More rows failed than are listed in errors
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String isbn;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One requested id of a batch lookup; book is null when found is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookLookup {
+    private Long id;
+    private boolean found;
+    private BookDto book;
+}
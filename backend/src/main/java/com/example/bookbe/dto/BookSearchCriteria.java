@@ -0,0 +1,16 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchCriteria {
+    // Case-insensitive substring of the title
+    private String title;
+    private Long authorId;
+    private Long categoryId;
+    private boolean availableOnly;
+}
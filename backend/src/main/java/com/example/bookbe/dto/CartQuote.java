@@ -0,0 +1,49 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class CartQuote {
+    private List<Line> lines = new ArrayList<>();
+    private BigDecimal total = BigDecimal.ZERO;
+    private int itemCount;
+    // No line carries a warning that would make createOrder fail
+    private boolean checkoutReady;
+
+    public enum Warning {
+        NOT_FOUND(true),
+        INVALID_QUANTITY(true),
+        OUT_OF_STOCK(true),
+        INSUFFICIENT_STOCK(true),
+        PRICE_CHANGED(false);
+
+        private final boolean blocksCheckout;
+
+        Warning(boolean blocksCheckout) {
+            this.blocksCheckout = blocksCheckout;
+        }
+
+        public boolean blocksCheckout() {
+            return blocksCheckout;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long bookId;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal lineTotal;
+        private Integer availableStock;
+        private List<Warning> warnings = new ArrayList<>();
+    }
+}
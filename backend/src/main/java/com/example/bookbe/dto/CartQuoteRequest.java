@@ -0,0 +1,26 @@
+package com.example.bookbe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartQuoteRequest {
+    private List<Line> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long bookId;
+        private Integer quantity;
+        // The unit price the client shows; a mismatch is reported as PRICE_CHANGED
+        private BigDecimal expectedPrice;
+    }
+}
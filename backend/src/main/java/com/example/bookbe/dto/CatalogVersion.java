@@ -0,0 +1,10 @@
+package com.example.bookbe.dto;
+
+import java.time.Instant;
+
+/**
+ * Validators for a catalog response. lastModified is null when the rows
+ * behind it carry no timestamp (e.g. an empty table).
+ */
+public record CatalogVersion(String eTag, Instant lastModified) {
+}
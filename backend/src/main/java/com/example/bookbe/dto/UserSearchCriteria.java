@@ -0,0 +1,20 @@
+package com.example.bookbe.dto;
+
+import com.example.bookbe.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCriteria {
+    // Prefix matched against username or email
+    private String search;
+    private User.Role role;
+    private Boolean enabled;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
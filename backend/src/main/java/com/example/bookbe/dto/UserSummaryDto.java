@@ -0,0 +1,25 @@
+package com.example.bookbe.dto;
+
+import com.example.bookbe.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private Long id;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private User.Role role;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+    private Long orderCount;
+    private BigDecimal totalSpent;
+}
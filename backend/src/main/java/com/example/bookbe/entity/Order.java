@@ -9,15 +9,25 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_status_total", columnList = "user_id, status, total_amount"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
+    // Ids per round trip to id_generators; V3__order_id_generators.sql seeds the table to match
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_ids")
+    @TableGenerator(name = "order_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "orders", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "order_number", unique = true, nullable = false)
@@ -51,7 +61,9 @@ public class Order {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         if (orderNumber == null) {
-            orderNumber = "ORD-" + System.currentTimeMillis();
+            // The id is not assigned yet; the random suffix keeps orders placed in the same millisecond apart
+            orderNumber = "ORD-" + System.currentTimeMillis() + "-"
+                    + Integer.toString(ThreadLocalRandom.current().nextInt(0x100000, 0x1000000), 16).toUpperCase();
         }
     }
 
@@ -0,0 +1,13 @@
+package com.example.bookbe.exception;
+
+import lombok.Getter;
+
+@Getter
+public class DuplicateUserException extends RuntimeException {
+    private final String field;
+
+    public DuplicateUserException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+}
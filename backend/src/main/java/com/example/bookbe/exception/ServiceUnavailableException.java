@@ -0,0 +1,17 @@
+package com.example.bookbe.exception;
+
+import lombok.Getter;
+
+/**
+ * A request the service cannot answer yet but will shortly; answered with
+ * 503 and a Retry-After of {@code retryAfterSeconds}.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.bookbe.monitoring;
+
+import com.example.bookbe.util.ImageCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link ImageCache} statistics. The hit ratio gauge is lifetime;
+ * use the request counters for a windowed ratio.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageCacheMetrics implements MeterBinder {
+    private final ImageCache imageCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("image.cache.requests", imageCache, cache -> cache.getStats().hits())
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("image.cache.requests", imageCache, cache -> cache.getStats().misses())
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("image.cache.evictions", imageCache, cache -> cache.getStats().evictions())
+                .register(registry);
+        Gauge.builder("image.cache.hit.ratio", imageCache, cache -> cache.getStats().hitRatio())
+                .register(registry);
+        Gauge.builder("image.cache.entries", imageCache, cache -> cache.getStats().entries())
+                .register(registry);
+        Gauge.builder("image.cache.resident", imageCache, cache -> cache.getStats().residentBytes())
+                .baseUnit("bytes").register(registry);
+        Gauge.builder("image.cache.capacity", imageCache, cache -> cache.getStats().maxBytes())
+                .baseUnit("bytes").register(registry);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.bookbe.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL each request runs. Totals are recorded as metrics per
+ * endpoint, optionally exposed as X-SQL-* response headers, and a warning
+ * names the repeated statement when a request goes over its statement budget
+ * or runs the same statement shape too often (the usual N+1 signature).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter implements Ordered {
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String MAX_REPEATS_HEADER = "X-SQL-Max-Repeats";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql.monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql.monitor.headers:false}")
+    private boolean headers;
+
+    @Value("${sql.monitor.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${sql.monitor.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    public int getOrder() {
+        // Ahead of Spring Security so the JWT user lookup is counted too
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        QueryStats stats = QueryStatsHolder.start();
+        // Headers have to be added after the handler ran, so the body is held back until then
+        ContentCachingResponseWrapper wrapper = headers ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            QueryStatsHolder.clear();
+            report(request, stats);
+            if (wrapper != null) {
+                wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                wrapper.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                wrapper.setHeader(TIME_HEADER, String.format("%.2f", stats.getMillis()));
+                wrapper.setHeader(MAX_REPEATS_HEADER, String.valueOf(stats.getMaxRepeats()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .tag("method", request.getMethod()).tag("uri", uri)
+                .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.sql.rows")
+                .tag("method", request.getMethod()).tag("uri", uri)
+                .register(meterRegistry).record(stats.getRows());
+        Timer.builder("http.server.requests.sql.time")
+                .tag("method", request.getMethod()).tag("uri", uri)
+                .register(meterRegistry).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+        boolean overBudget = stats.getStatements() > statementBudget;
+        boolean repeating = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (repeating) {
+            log.warn("{} {} ran {} SQL statements ({} rows, {} ms); most repeated {}x: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(),
+                    String.format("%.1f", stats.getMillis()), repeated.getValue(), repeated.getKey());
+        } else if (overBudget) {
+            log.warn("{} {} ran {} SQL statements ({} rows, {} ms)",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(),
+                    String.format("%.1f", stats.getMillis()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bookbe.monitoring;
+
+/**
+ * Binds a {@link QueryStats} to the current thread for the duration of a request.
+ */
+public final class QueryStatsHolder {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
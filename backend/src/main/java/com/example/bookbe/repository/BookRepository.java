@@ -1,16 +1,20 @@
 package com.example.bookbe.repository;
 
 import com.example.bookbe.entity.Book;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
     Optional<Book> findByIsbn(String isbn);
     
     List<Book> findByTitleContainingIgnoreCase(String title);
@@ -21,5 +25,25 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     List<Book> findByCategoryId(@Param("categoryId") Long categoryId);
     
     List<Book> findByStockGreaterThan(Integer stock);
+
+    long countByImageUrl(String imageUrl);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Book b SET b.imageUrl = :newImageUrl, b.updatedAt = LOCAL DATETIME " +
+           "WHERE b.imageUrl = :oldImageUrl")
+    int updateImageUrl(@Param("oldImageUrl") String oldImageUrl, @Param("newImageUrl") String newImageUrl);
+
+    @Query("SELECT DISTINCT b.imageUrl FROM Book b WHERE b.imageUrl IN :imageUrls")
+    List<String> findReferencedImageUrls(@Param("imageUrls") Collection<String> imageUrls);
+
+    @Query("SELECT b.id AS id, b.imageUrl AS imageUrl FROM Book b " +
+           "WHERE b.imageUrl IS NOT NULL AND b.id > :afterId ORDER BY b.id")
+    List<ImageReference> findImageReferencesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface ImageReference {
+        Long getId();
+        String getImageUrl();
+    }
 }
 
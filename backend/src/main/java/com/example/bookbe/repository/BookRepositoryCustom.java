@@ -0,0 +1,14 @@
+package com.example.bookbe.repository;
+
+import com.example.bookbe.dto.BookSearchCriteria;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BookRepositoryCustom {
+    /**
+     * Books matching the criteria as field name to value maps, holding the
+     * requested BookDto fields in the requested order.
+     */
+    List<Map<String, Object>> findBookFields(BookSearchCriteria criteria, List<String> fields);
+}
@@ -0,0 +1,136 @@
+package com.example.bookbe.repository;
+
+import com.example.bookbe.dto.BookSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Sparse book listings. Only the columns behind the requested fields are
+ * selected, so a grid view never reads the description TEXT column, and the
+ * author is only joined when its name is asked for. Categories come from a
+ * second query over the selected book ids, and only when requested.
+ */
+public class BookRepositoryImpl implements BookRepositoryCustom {
+    private static final Map<String, String> COLUMNS = Map.ofEntries(
+            Map.entry("id", "b.id"),
+            Map.entry("title", "b.title"),
+            Map.entry("description", "b.description"),
+            Map.entry("price", "b.price"),
+            Map.entry("stock", "b.stock"),
+            Map.entry("isbn", "b.isbn"),
+            Map.entry("publicationDate", "b.publicationDate"),
+            Map.entry("imageUrl", "b.imageUrl"),
+            Map.entry("authorId", "b.author.id"),
+            Map.entry("authorName", "a.name"),
+            Map.entry("createdAt", "b.createdAt"),
+            Map.entry("updatedAt", "b.updatedAt")
+    );
+    private static final int IN_CLAUSE_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findBookFields(BookSearchCriteria criteria, List<String> fields) {
+        boolean categoryIds = fields.contains("categoryIds");
+        boolean categoryNames = fields.contains("categoryNames");
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            if (COLUMNS.containsKey(field)) {
+                columns.add(field);
+            } else if (!field.equals("categoryIds") && !field.equals("categoryNames")) {
+                throw new IllegalArgumentException("Unknown book field: " + field);
+            }
+        }
+        // Categories are matched to their books by id
+        boolean idSelected = columns.contains("id");
+        if (!idSelected && (categoryIds || categoryNames)) {
+            columns.add("id");
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No book fields selected");
+        }
+
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM Book b");
+        for (String column : columns) {
+            select.add(COLUMNS.get(column));
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = select + (columns.contains("authorName") ? " JOIN b.author a" : "")
+                + buildWhere(criteria, parameters) + " ORDER BY b.id";
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+
+        List<Map<String, Object>> books = new ArrayList<>();
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> book = new LinkedHashMap<>();
+            for (String field : fields) {
+                int index = columns.indexOf(field);
+                book.put(field, index >= 0 ? tuple.get(index) : new ArrayList<>());
+            }
+            books.add(book);
+            if (categoryIds || categoryNames) {
+                byId.put((Long) tuple.get(columns.indexOf("id")), book);
+            }
+        }
+        if (!byId.isEmpty()) {
+            addCategories(byId, categoryIds, categoryNames);
+        }
+        return books;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addCategories(Map<Long, Map<String, Object>> byId, boolean ids, boolean names) {
+        List<Long> bookIds = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < bookIds.size(); from += IN_CLAUSE_SIZE) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT b.id, c.id, c.name FROM Book b JOIN b.categories c WHERE b.id IN :ids", Object[].class)
+                    .setParameter("ids", bookIds.subList(from, Math.min(bookIds.size(), from + IN_CLAUSE_SIZE)))
+                    .getResultList();
+            for (Object[] row : rows) {
+                Map<String, Object> book = byId.get((Long) row[0]);
+                if (ids) {
+                    ((List<Object>) book.get("categoryIds")).add(row[1]);
+                }
+                if (names) {
+                    ((List<Object>) book.get("categoryNames")).add(row[2]);
+                }
+            }
+        }
+    }
+
+    private String buildWhere(BookSearchCriteria criteria, Map<String, Object> parameters) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (criteria.getTitle() != null) {
+            where.add("LOWER(b.title) LIKE :title ESCAPE '\\'");
+            parameters.put("title", "%" + escapeLike(criteria.getTitle().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (criteria.getAuthorId() != null) {
+            where.add("b.author.id = :authorId");
+            parameters.put("authorId", criteria.getAuthorId());
+        }
+        if (criteria.getCategoryId() != null) {
+            where.add("EXISTS (SELECT 1 FROM Book cb JOIN cb.categories c WHERE cb = b AND c.id = :categoryId)");
+            parameters.put("categoryId", criteria.getCategoryId());
+        }
+        if (criteria.isAvailableOnly()) {
+            where.add("b.stock > 0");
+        }
+        return where.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookbe.repository;
+
+import com.example.bookbe.dto.UserSearchCriteria;
+import com.example.bookbe.dto.UserSummaryDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface UserRepositoryCustom {
+    Page<UserSummaryDto> searchUsers(UserSearchCriteria criteria, Pageable pageable);
+}
@@ -0,0 +1,103 @@
+package com.example.bookbe.repository;
+
+import com.example.bookbe.dto.UserSearchCriteria;
+import com.example.bookbe.dto.UserSummaryDto;
+import com.example.bookbe.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Admin user directory query. Only the filters that are set end up in the
+ * WHERE clause so MySQL can pick the matching index (username/email unique
+ * indexes for the prefix search, role/enabled/created_at for the rest).
+ * Order count and spend are correlated subqueries over the same non-cancelled
+ * orders, evaluated only for the rows of the requested page via the
+ * orders(user_id, status, total_amount) index.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    private static final Map<String, String> SORTABLE = Map.of(
+            "id", "u.id",
+            "username", "u.username",
+            "email", "u.email",
+            "createdAt", "u.createdAt"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserSummaryDto> searchUsers(UserSearchCriteria criteria, Pageable pageable) {
+        Map<String, Object> parameters = new HashMap<>();
+        String where = buildWhere(criteria, parameters);
+
+        String select = "SELECT new com.example.bookbe.dto.UserSummaryDto(" +
+                "u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.enabled, u.createdAt, " +
+                "(SELECT COUNT(o.id) FROM Order o WHERE o.user = u AND o.status <> :cancelled), " +
+                "(SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.user = u AND o.status <> :cancelled)) " +
+                "FROM User u" + where + buildOrderBy(pageable.getSort());
+        TypedQuery<UserSummaryDto> query = entityManager.createQuery(select, UserSummaryDto.class);
+        parameters.forEach(query::setParameter);
+        query.setParameter("cancelled", Order.OrderStatus.CANCELLED);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<UserSummaryDto> content = query.getResultList();
+
+        TypedQuery<Long> countQuery = entityManager.createQuery("SELECT COUNT(u) FROM User u" + where, Long.class);
+        parameters.forEach(countQuery::setParameter);
+        long total = countQuery.getSingleResult();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private String buildWhere(UserSearchCriteria criteria, Map<String, Object> parameters) {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (criteria.getSearch() != null && !criteria.getSearch().isBlank()) {
+            where.add("(u.username LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\')");
+            parameters.put("prefix", escapeLike(criteria.getSearch().trim()) + "%");
+        }
+        if (criteria.getRole() != null) {
+            where.add("u.role = :role");
+            parameters.put("role", criteria.getRole());
+        }
+        if (criteria.getEnabled() != null) {
+            where.add("u.enabled = :enabled");
+            parameters.put("enabled", criteria.getEnabled());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            where.add("u.createdAt >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            where.add("u.createdAt < :createdTo");
+            parameters.put("createdTo", criteria.getCreatedTo());
+        }
+        return where.toString();
+    }
+
+    private String buildOrderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String path = SORTABLE.get(order.getProperty());
+            if (path != null) {
+                orderBy.add(path + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        // Stable paging
+        orderBy.add("u.id DESC");
+        return orderBy.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookbe.service;
 
+import com.example.bookbe.config.ReadYourWritesTracker;
 import com.example.bookbe.dto.AuthResponse;
 import com.example.bookbe.dto.LoginRequest;
 import com.example.bookbe.dto.RegisterRequest;
@@ -7,6 +8,7 @@ import com.example.bookbe.dto.UserDto;
 import com.example.bookbe.entity.User;
 import com.example.bookbe.repository.UserRepository;
 import com.example.bookbe.security.JwtTokenProvider;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,20 +18,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         UserDto userDto = userService.createUser(request);
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found after creation"));
-
-        String token = jwtTokenProvider.generateToken(user.getUsername());
+        // The caller is anonymous until it uses the token; its first lookups must see the new row
+        readYourWritesTracker.markWrite(userDto.getUsername());
+        String token = jwtTokenProvider.generateToken(userDto.getUsername());
         return new AuthResponse(token, "Bearer", userDto);
     }
 
@@ -2,6 +2,7 @@ package com.example.bookbe.service;
 
 import com.example.bookbe.dto.AuthorDto;
 import com.example.bookbe.entity.Author;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.repository.AuthorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,12 +25,14 @@ public class AuthorService {
         return convertToDto(savedAuthor);
     }
 
+    @Transactional(readOnly = true)
     public AuthorDto getAuthorById(Long id) {
         Author author = authorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Author not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
         return convertToDto(author);
     }
 
+    @Transactional(readOnly = true)
     public List<AuthorDto> getAllAuthors() {
         return authorRepository.findAll().stream()
                 .map(this::convertToDto)
@@ -39,7 +42,7 @@ public class AuthorService {
     @Transactional
     public AuthorDto updateAuthor(Long id, AuthorDto authorDto) {
         Author author = authorRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Author not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
 
         if (authorDto.getName() != null) author.setName(authorDto.getName());
         if (authorDto.getBiography() != null) author.setBiography(authorDto.getBiography());
@@ -51,7 +54,7 @@ public class AuthorService {
     @Transactional
     public void deleteAuthor(Long id) {
         if (!authorRepository.existsById(id)) {
-            throw new RuntimeException("Author not found");
+            throw new ResourceNotFoundException("Author not found");
         }
         authorRepository.deleteById(id);
     }
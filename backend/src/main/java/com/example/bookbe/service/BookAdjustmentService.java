@@ -0,0 +1,181 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.config.CatalogChangedEvent;
+import com.example.bookbe.dto.BookAdjustmentRequest;
+import com.example.bookbe.dto.BookAdjustmentRequest.Adjustment;
+import com.example.bookbe.dto.BookAdjustmentRequest.Operation;
+import com.example.bookbe.dto.BookAdjustmentResult;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reprices and restocks every book matching a filter with set-based UPDATEs.
+ * The matching rows are walked in id order, chunk-size rows per statement
+ * and transaction, so locks stay short and a large sale does not hold the
+ * whole catalog at once. Prices are rounded to cents and kept within the
+ * column; decreases stop at zero.
+ */
+@Slf4j
+@Service
+@Timed(value = "bookstore.service", histogram = true)
+@RequiredArgsConstructor
+public class BookAdjustmentService {
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${book.adjustment.chunk-size:5000}")
+    private int chunkSize;
+
+    public BookAdjustmentResult adjust(BookAdjustmentRequest request) {
+        long started = System.nanoTime();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = filter(request, params);
+        List<String> assignments = new ArrayList<>();
+        if (request.getPrice() != null) {
+            assignments.add("price = " + priceExpression(request.getPrice(), params));
+        }
+        if (request.getStock() != null) {
+            assignments.add("stock = " + stockExpression(request.getStock(), params));
+        }
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to adjust: give a price or stock adjustment");
+        }
+        assignments.add("updated_at = :now");
+        params.addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        params.addValue("limit", chunkSize);
+
+        String nextBoundary = "SELECT MAX(id) FROM (SELECT id FROM books WHERE " + where
+                + " AND id > :after ORDER BY id LIMIT :limit) chunk";
+        String update = "UPDATE books SET " + String.join(", ", assignments) + " WHERE " + where
+                + " AND id > :after AND id <= :upTo";
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long updated = 0;
+        int chunks = 0;
+        long after = 0;
+        try {
+            while (true) {
+                params.addValue("after", after);
+                Long upTo = jdbcTemplate.queryForObject(nextBoundary, params, Long.class);
+                if (upTo == null) {
+                    break;
+                }
+                params.addValue("upTo", upTo);
+                updated += transaction.execute(status -> jdbcTemplate.update(update, params));
+                chunks++;
+                after = upTo;
+            }
+        } finally {
+            if (updated > 0) {
+                // Updated behind Hibernate's back, so cached query results may hold old prices
+                entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+                eventPublisher.publishEvent(new CatalogChangedEvent("book-adjustment"));
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Adjusted {} books in {} chunks in {} ms", updated, chunks, elapsedMs);
+        return new BookAdjustmentResult(updated, chunks, elapsedMs);
+    }
+
+    private static String filter(BookAdjustmentRequest request, MapSqlParameterSource params) {
+        List<String> criteria = new ArrayList<>();
+        if (request.getAuthorId() != null) {
+            criteria.add("author_id = :authorId");
+            params.addValue("authorId", request.getAuthorId());
+        }
+        if (request.getCategoryId() != null) {
+            criteria.add("EXISTS (SELECT 1 FROM book_categories bc WHERE bc.book_id = books.id "
+                    + "AND bc.category_id = :categoryId)");
+            params.addValue("categoryId", request.getCategoryId());
+        }
+        if (request.getBookIds() != null && !request.getBookIds().isEmpty()) {
+            criteria.add("id IN (:bookIds)");
+            params.addValue("bookIds", request.getBookIds());
+        }
+        if (criteria.isEmpty()) {
+            throw new IllegalArgumentException("Select books by authorId, categoryId or bookIds");
+        }
+        return String.join(" AND ", criteria);
+    }
+
+    private static String priceExpression(Adjustment adjustment, MapSqlParameterSource params) {
+        Operation operation = operation(adjustment, "price");
+        params.addValue("maxPrice", MAX_PRICE);
+        if (adjustment.getPercent() != null) {
+            if (adjustment.getAmount() != null || operation == Operation.SET) {
+                throw new IllegalArgumentException("A price is set by amount, or changed by amount or percent");
+            }
+            BigDecimal percent = nonNegative(adjustment.getPercent(), "price percent");
+            if (operation == Operation.DECREASE && percent.compareTo(HUNDRED) > 0) {
+                throw new IllegalArgumentException("A price cannot drop by more than 100%");
+            }
+            BigDecimal change = percent.divide(HUNDRED, MathContext.DECIMAL64);
+            params.addValue("priceFactor", operation == Operation.INCREASE
+                    ? BigDecimal.ONE.add(change) : BigDecimal.ONE.subtract(change));
+            return "LEAST(ROUND(price * :priceFactor, 2), :maxPrice)";
+        }
+        // Rounded and clamped here: LEAST over two bind parameters has no type to infer on H2
+        BigDecimal amount = nonNegative(adjustment.getAmount(), "price amount").setScale(2, RoundingMode.HALF_UP);
+        params.addValue("priceAmount", operation == Operation.SET ? amount.min(MAX_PRICE) : amount);
+        return switch (operation) {
+            case SET -> ":priceAmount";
+            case INCREASE -> "LEAST(price + :priceAmount, :maxPrice)";
+            case DECREASE -> "GREATEST(price - :priceAmount, 0)";
+        };
+    }
+
+    private static String stockExpression(Adjustment adjustment, MapSqlParameterSource params) {
+        Operation operation = operation(adjustment, "stock");
+        if (adjustment.getPercent() != null) {
+            throw new IllegalArgumentException("Stock is adjusted by amount only");
+        }
+        BigDecimal amount = nonNegative(adjustment.getAmount(), "stock amount");
+        try {
+            params.addValue("stockAmount", amount.intValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Stock amount must be a whole number");
+        }
+        return switch (operation) {
+            case SET -> ":stockAmount";
+            case INCREASE -> "stock + :stockAmount";
+            case DECREASE -> "GREATEST(stock - :stockAmount, 0)";
+        };
+    }
+
+    private static Operation operation(Adjustment adjustment, String column) {
+        if (adjustment.getOperation() == null) {
+            throw new IllegalArgumentException("Missing " + column + " operation");
+        }
+        return adjustment.getOperation();
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value, String name) {
+        if (value == null || value.signum() < 0) {
+            throw new IllegalArgumentException("Missing or negative " + name);
+        }
+        return value;
+    }
+}
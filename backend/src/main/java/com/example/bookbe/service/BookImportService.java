@@ -0,0 +1,360 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.config.CatalogChangedEvent;
+import com.example.bookbe.dto.BookImportResult;
+import com.example.bookbe.entity.Book;
+import com.example.bookbe.util.CatalogFeedReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a catalog feed in chunks of plain JDBC batches. Authors and
+ * categories are resolved by name (case-insensitively, like the MySQL
+ * collation) through dictionaries loaded once per import; missing ones are
+ * created. Books are upserted on isbn: each chunk looks up the existing
+ * isbns in one query, batch-updates those and batch-inserts the rest, then
+ * reads the new ids back by isbn. Each chunk commits on its own, so a
+ * failing chunk is reported row by row without undoing the others.
+ */
+@Slf4j
+@Service
+@Timed(value = "bookstore.service", histogram = true)
+@RequiredArgsConstructor
+public class BookImportService {
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMapper jsonMapper;
+
+    @Value("${book.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${book.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    // categories is null when the row leaves the book's categories alone
+    private record ImportRow(int line, String isbn, String title, String description, BigDecimal price, int stock,
+                             LocalDateTime publicationDate, String author, List<String> categories) {
+    }
+
+    public BookImportResult importBooks(Reader input, Format format) throws IOException {
+        long started = System.nanoTime();
+        BookImportResult result = new BookImportResult();
+        Map<String, Long> authors = dictionary("SELECT id, name FROM authors ORDER BY id");
+        Map<String, Long> categories = dictionary("SELECT id, name FROM categories ORDER BY id");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CatalogFeedReader reader = format == Format.NDJSON
+                ? CatalogFeedReader.ndjson(input, jsonMapper) : CatalogFeedReader.csv(input);
+
+        Map<String, ImportRow> chunk = new LinkedHashMap<>();
+        try {
+            for (CatalogFeedReader.Row row = reader.next(); row != null; row = reader.next()) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                ImportRow parsed;
+                try {
+                    if (row.error() != null) {
+                        throw new IllegalArgumentException(row.error());
+                    }
+                    parsed = parse(row);
+                } catch (IllegalArgumentException e) {
+                    fail(result, row.line(), row.fields() != null ? row.fields().get("isbn") : null, e.getMessage());
+                    continue;
+                }
+                // A repeated isbn goes into the next chunk so the later row wins
+                String key = key(parsed.isbn());
+                if (chunk.size() == chunkSize || chunk.containsKey(key)) {
+                    writeChunk(transaction, chunk.values(), authors, categories, result);
+                    chunk.clear();
+                }
+                chunk.put(key, parsed);
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(transaction, chunk.values(), authors, categories, result);
+            }
+        } finally {
+            if (result.getInserted() + result.getUpdated() > 0) {
+                // Written behind Hibernate's back: drop cached book categories and cached queries
+                Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+                cache.evictCollectionData(Book.class.getName() + ".categories");
+                cache.evictQueryRegions();
+                eventPublisher.publishEvent(new CatalogChangedEvent("book-import"));
+            }
+        }
+
+        result.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+        result.setRowsPerSecond(result.getRowsRead() * 1000.0 / Math.max(1, result.getElapsedMs()));
+        log.info("Imported {} rows ({} inserted, {} updated, {} failed) in {} ms",
+                result.getRowsRead(), result.getInserted(), result.getUpdated(), result.getFailed(),
+                result.getElapsedMs());
+        return result;
+    }
+
+    private void writeChunk(TransactionTemplate transaction, Collection<ImportRow> rows, Map<String, Long> authors,
+                            Map<String, Long> categories, BookImportResult result) {
+        Map<String, Long> createdAuthors = new HashMap<>();
+        Map<String, Long> createdCategories = new HashMap<>();
+        try {
+            int inserted = transaction.execute(status -> upsert(rows, authors, categories,
+                    createdAuthors, createdCategories));
+            result.setInserted(result.getInserted() + inserted);
+            result.setUpdated(result.getUpdated() + rows.size() - inserted);
+            result.setAuthorsCreated(result.getAuthorsCreated() + createdAuthors.size());
+            result.setCategoriesCreated(result.getCategoriesCreated() + createdCategories.size());
+        } catch (RuntimeException e) {
+            // Rolled back, including the authors and categories it created
+            authors.keySet().removeAll(createdAuthors.keySet());
+            categories.keySet().removeAll(createdCategories.keySet());
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Import chunk of {} rows failed: {}", rows.size(), message);
+            for (ImportRow row : rows) {
+                fail(result, row.line(), row.isbn(), "Not imported: " + message);
+            }
+        }
+    }
+
+    /**
+     * @return the number of inserted books; the other rows updated existing ones
+     */
+    private int upsert(Collection<ImportRow> rows, Map<String, Long> authors, Map<String, Long> categories,
+                       Map<String, Long> createdAuthors, Map<String, Long> createdCategories) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, String> missingAuthors = new LinkedHashMap<>();
+        Map<String, String> missingCategories = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            if (!authors.containsKey(key(row.author()))) {
+                missingAuthors.putIfAbsent(key(row.author()), row.author());
+            }
+            if (row.categories() != null) {
+                for (String category : row.categories()) {
+                    if (!categories.containsKey(key(category))) {
+                        missingCategories.putIfAbsent(key(category), category);
+                    }
+                }
+            }
+        }
+        create("authors", missingAuthors.values(), now, authors, createdAuthors);
+        create("categories", missingCategories.values(), now, categories, createdCategories);
+
+        Map<String, Long> bookIds = bookIds(rows.stream().map(ImportRow::isbn).toList());
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<String> insertedIsbns = new ArrayList<>();
+        List<Long> replacedCategories = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Timestamp publicationDate = row.publicationDate() != null ? Timestamp.valueOf(row.publicationDate()) : null;
+            Long authorId = authors.get(key(row.author()));
+            Long id = bookIds.get(key(row.isbn()));
+            if (id != null) {
+                updates.add(new Object[]{row.title(), row.description(), row.price(), row.stock(), publicationDate,
+                        authorId, now, id});
+                if (row.categories() != null) {
+                    replacedCategories.add(id);
+                }
+            } else {
+                inserts.add(new Object[]{row.title(), row.description(), row.price(), row.stock(), row.isbn(),
+                        publicationDate, authorId, now, now});
+                insertedIsbns.add(row.isbn());
+            }
+        }
+        if (!updates.isEmpty()) {
+            // Fields a feed row leaves empty keep their current value
+            jdbcTemplate.getJdbcOperations().batchUpdate("UPDATE books SET title = ?, "
+                    + "description = COALESCE(?, description), price = ?, stock = ?, "
+                    + "publication_date = COALESCE(?, publication_date), author_id = ?, updated_at = ? "
+                    + "WHERE id = ?", updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate("INSERT INTO books (title, description, price, stock, isbn, "
+                    + "publication_date, author_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", inserts);
+            bookIds.putAll(bookIds(insertedIsbns));
+        }
+
+        if (!replacedCategories.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM book_categories WHERE book_id IN (:ids)",
+                    Map.of("ids", replacedCategories));
+        }
+        List<Object[]> assignments = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.categories() != null) {
+                Long bookId = bookIds.get(key(row.isbn()));
+                Set<Long> categoryIds = new LinkedHashSet<>();
+                for (String category : row.categories()) {
+                    categoryIds.add(categories.get(key(category)));
+                }
+                for (Long categoryId : categoryIds) {
+                    assignments.add(new Object[]{bookId, categoryId});
+                }
+            }
+        }
+        if (!assignments.isEmpty()) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(
+                    "INSERT INTO book_categories (book_id, category_id) VALUES (?, ?)", assignments);
+        }
+        return inserts.size();
+    }
+
+    /**
+     * Inserts the named authors or categories and adds their ids to the dictionary.
+     */
+    private void create(String table, Collection<String> names, Timestamp now, Map<String, Long> dictionary,
+                        Map<String, Long> created) {
+        if (names.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(names.size());
+        for (String name : names) {
+            rows.add(new Object[]{name, now, now});
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(
+                "INSERT INTO " + table + " (name, created_at, updated_at) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.query("SELECT id, name FROM " + table + " WHERE name IN (:names) ORDER BY id",
+                Map.of("names", names), rs -> {
+                    String key = key(rs.getString(2));
+                    if (dictionary.putIfAbsent(key, rs.getLong(1)) == null) {
+                        created.put(key, rs.getLong(1));
+                    }
+                });
+    }
+
+    private Map<String, Long> bookIds(List<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, isbn FROM books WHERE isbn IN (:isbns)", Map.of("isbns", isbns),
+                rs -> {
+                    ids.put(key(rs.getString(2)), rs.getLong(1));
+                });
+        return ids;
+    }
+
+    private Map<String, Long> dictionary(String sql) {
+        Map<String, Long> dictionary = new HashMap<>();
+        jdbcTemplate.getJdbcOperations().query(sql, rs -> {
+            dictionary.putIfAbsent(key(rs.getString(2)), rs.getLong(1));
+        });
+        return dictionary;
+    }
+
+    private static ImportRow parse(CatalogFeedReader.Row row) {
+        Map<String, String> fields = row.fields();
+        String categories = fields.get("categories");
+        String publicationDate = optional(fields, "publicationdate");
+        return new ImportRow(row.line(), required(fields, "isbn"), required(fields, "title"),
+                optional(fields, "description"), parsePrice(required(fields, "price")),
+                parseStock(required(fields, "stock")),
+                publicationDate != null ? parseDate(publicationDate) : null, required(fields, "author"),
+                categories != null ? splitList(categories) : null);
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > MAX_TEXT_LENGTH && !name.equals("description")) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        try {
+            BigDecimal price = new BigDecimal(value);
+            if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > 8) {
+                throw new IllegalArgumentException("Invalid price: " + value);
+            }
+            return price;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + value);
+        }
+    }
+
+    private static int parseStock(String value) {
+        try {
+            int stock = Integer.parseInt(value);
+            if (stock < 0) {
+                throw new IllegalArgumentException("Invalid stock: " + value);
+            }
+            return stock;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid stock: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid publicationDate: " + value);
+        }
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split("\\" + CatalogFeedReader.LIST_SEPARATOR)) {
+            String name = item.trim();
+            if (name.length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Category name is longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+            if (!name.isEmpty()) {
+                items.add(name);
+            }
+        }
+        return items;
+    }
+
+    private void fail(BookImportResult result, int line, String isbn, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new BookImportResult.RowError(line, isbn, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.config.BooksChangedEvent;
+import com.example.bookbe.config.CatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Price and stock of every book, held in memory so that cart quotes never
+ * touch the database. Loaded in full at startup and on a long interval (which
+ * also drops books deleted by other instances). In between, rows whose
+ * updated_at moved past the last load are re-read on a short interval and
+ * after bulk catalog changes, using idx_books_updated_at; a single book is
+ * re-read once a book or order write touching it commits.
+ * <p>
+ * About 80 bytes per book on a 64-bit JVM with compressed oops (map node 32,
+ * boxed id 16, entry 24, table slot ~8), so ~80 MB per million books, and
+ * twice that briefly while a full reload builds its replacement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookPriceSnapshot {
+    private static final String COLUMNS = "SELECT id, price, stock, updated_at FROM books";
+
+    /**
+     * Prices are DECIMAL(10,2), so whole cents fit a long and spare a
+     * BigDecimal per book.
+     */
+    public record Entry(long priceCents, int stock) {
+        public BigDecimal price() {
+            return BigDecimal.valueOf(priceCents, 2);
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor applicationTaskExecutor;
+
+    // Off the startup path, like seeding: quotes answer 503 until the first load
+    @Value("${cart.snapshot.async-load:true}")
+    private boolean asyncLoad;
+
+    // Re-read a little before the last seen updated_at: covers writes that commit
+    // after a later one was read, and clock skew between instances
+    @Value("${cart.snapshot.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Non-null while a full reload runs: books re-read meanwhile, read again once it is in place
+    private volatile Set<Long> refreshedDuringReload;
+    // Latest updated_at loaded so far; guarded by lock
+    private Timestamp watermark;
+
+    /**
+     * Null when no such book is known.
+     */
+    public Entry get(Long bookId) {
+        return entries.get(bookId);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (asyncLoad) {
+            applicationTaskExecutor.execute(this::reload);
+        } else {
+            reload();
+        }
+    }
+
+    @EventListener(CatalogChangedEvent.class)
+    public void onCatalogChanged() {
+        refreshChanged();
+    }
+
+    @Scheduled(initialDelayString = "${cart.snapshot.refresh-interval-ms:60000}",
+            fixedDelayString = "${cart.snapshot.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refreshChanged();
+    }
+
+    @Scheduled(initialDelayString = "${cart.snapshot.full-reload-interval-ms:3600000}",
+            fixedDelayString = "${cart.snapshot.full-reload-interval-ms:3600000}")
+    public void scheduledReload() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        refresh(event.bookIds());
+    }
+
+    /**
+     * Replaces the snapshot with every book. The scan runs read-only, so it
+     * goes to a replica when one is configured.
+     */
+    public void reload() {
+        lock.lock();
+        long started = System.nanoTime();
+        Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+        refreshedDuringReload = refreshed;
+        try {
+            Map<Long, Entry> fresh = new ConcurrentHashMap<>();
+            Timestamp[] latest = {null};
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> jdbcTemplate.getJdbcOperations().query(COLUMNS,
+                    rs -> {
+                        fresh.put(rs.getLong(1), entry(rs));
+                        latest[0] = later(latest[0], rs.getTimestamp(4));
+                    }));
+            entries = fresh;
+            watermark = latest[0];
+            loaded = true;
+            log.debug("Loaded prices of {} books in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (DataAccessException e) {
+            log.warn("Reloading book prices failed, keeping the previous snapshot", e);
+        } finally {
+            refreshedDuringReload = null;
+            lock.unlock();
+        }
+        if (!refreshed.isEmpty()) {
+            refresh(refreshed);
+        }
+    }
+
+    /**
+     * Re-reads the books changed since the last load; falls back to a full
+     * reload until one has succeeded.
+     */
+    public void refreshChanged() {
+        if (!loaded) {
+            reload();
+            return;
+        }
+        lock.lock();
+        try {
+            Timestamp since = new Timestamp(watermark != null ? watermark.getTime() - refreshOverlapMs : 0L);
+            Map<Long, Entry> current = entries;
+            Timestamp[] latest = {watermark};
+            int[] rows = {0};
+            jdbcTemplate.query(COLUMNS + " WHERE updated_at >= :since", Map.of("since", since), rs -> {
+                current.put(rs.getLong(1), entry(rs));
+                latest[0] = later(latest[0], rs.getTimestamp(4));
+                rows[0]++;
+            });
+            watermark = latest[0];
+            log.debug("Refreshed prices of {} books changed since {}", rows[0], since);
+        } catch (DataAccessException e) {
+            log.warn("Refreshing changed book prices failed, keeping the previous snapshot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refresh(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        Set<Long> during = refreshedDuringReload;
+        if (during != null) {
+            during.addAll(bookIds);
+        }
+        Map<Long, Entry> current = entries;
+        Set<Long> missing = new HashSet<>(bookIds);
+        try {
+            jdbcTemplate.query(COLUMNS + " WHERE id IN (:ids)", Map.of("ids", List.copyOf(missing)), rs -> {
+                long id = rs.getLong(1);
+                current.put(id, entry(rs));
+                missing.remove(id);
+            });
+            missing.forEach(current::remove);
+        } catch (DataAccessException e) {
+            // The write itself committed; the next refresh catches up
+            log.warn("Refreshing prices of books {} failed", bookIds, e);
+        }
+    }
+
+    private static Entry entry(ResultSet rs) throws SQLException {
+        long priceCents = rs.getBigDecimal(2).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        return new Entry(priceCents, rs.getInt(3));
+    }
+
+    private static Timestamp later(Timestamp current, Timestamp candidate) {
+        return candidate != null && (current == null || candidate.after(current)) ? candidate : current;
+    }
+}
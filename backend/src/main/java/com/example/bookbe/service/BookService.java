@@ -1,25 +1,41 @@
 package com.example.bookbe.service;
 
+import com.example.bookbe.config.BooksChangedEvent;
 import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.BookLookup;
+import com.example.bookbe.dto.BookSearchCriteria;
 import com.example.bookbe.entity.Author;
 import com.example.bookbe.entity.Book;
 import com.example.bookbe.entity.Category;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.repository.AuthorRepository;
 import com.example.bookbe.repository.BookRepository;
 import com.example.bookbe.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 @RequiredArgsConstructor
 public class BookService {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${book.batch.max-ids:500}")
+    private int batchMaxIds;
 
     @Transactional
     public BookDto createBook(BookDto bookDto) {
@@ -33,7 +49,7 @@ public class BookService {
         book.setImageUrl(bookDto.getImageUrl());
 
         Author author = authorRepository.findById(bookDto.getAuthorId())
-                .orElseThrow(() -> new RuntimeException("Author not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
         book.setAuthor(author);
 
         if (bookDto.getCategoryIds() != null && !bookDto.getCategoryIds().isEmpty()) {
@@ -42,49 +58,88 @@ public class BookService {
         }
 
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new BooksChangedEvent(List.of(savedBook.getId())));
         return convertToDto(savedBook);
     }
 
+    @Transactional(readOnly = true)
     public BookDto getBookById(Long id) {
         Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Book not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
         return convertToDto(book);
     }
 
+    /**
+     * The books for the given ids in request order, duplicates included, with
+     * found=false for ids that match no book. The books are read with one
+     * IN query; authors and categories come from the second-level cache.
+     */
+    @Transactional(readOnly = true)
+    public List<BookLookup> getBooksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Give at least one book id");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Book ids must not be null");
+        }
+        if (ids.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " book ids per request");
+        }
+        Map<Long, BookDto> books = bookRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        return ids.stream()
+                .map(id -> new BookLookup(id, books.containsKey(id), books.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public List<BookDto> getAllBooks() {
         return bookRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookDto> searchBooksByTitle(String title) {
         return bookRepository.findByTitleContainingIgnoreCase(title).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookDto> getBooksByAuthor(Long authorId) {
         return bookRepository.findByAuthorId(authorId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookDto> getBooksByCategory(Long categoryId) {
         return bookRepository.findByCategoryId(categoryId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BookDto> getAvailableBooks() {
         return bookRepository.findByStockGreaterThan(0).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Only the requested BookDto fields, read without loading the rest.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findBookFields(BookSearchCriteria criteria, List<String> fields) {
+        return bookRepository.findBookFields(criteria, fields);
+    }
+
     @Transactional
     public BookDto updateBook(Long id, BookDto bookDto) {
         Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Book not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
 
         if (bookDto.getTitle() != null) book.setTitle(bookDto.getTitle());
         if (bookDto.getDescription() != null) book.setDescription(bookDto.getDescription());
@@ -96,23 +151,26 @@ public class BookService {
 
         if (bookDto.getAuthorId() != null) {
             Author author = authorRepository.findById(bookDto.getAuthorId())
-                    .orElseThrow(() -> new RuntimeException("Author not found"));
+                    .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
             book.setAuthor(author);
         }
 
         if (bookDto.getCategoryIds() != null) {
             List<Category> categories = categoryRepository.findAllById(bookDto.getCategoryIds());
             book.setCategories(categories);
+            // A collection-only change does not trigger @PreUpdate, and the ETag reads updated_at
+            book.setUpdatedAt(LocalDateTime.now());
         }
 
         Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new BooksChangedEvent(List.of(id)));
         return convertToDto(updatedBook);
     }
 
     @Transactional
     public void deleteBook(Long id) {
         Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Book not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
         
         // Delete associated image file if exists
         if (book.getImageUrl() != null && !book.getImageUrl().isEmpty()) {
@@ -121,9 +179,10 @@ public class BookService {
         }
         
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new BooksChangedEvent(List.of(id)));
     }
 
-    private BookDto convertToDto(Book book) {
+    BookDto convertToDto(Book book) {
         BookDto dto = new BookDto();
         dto.setId(book.getId());
         dto.setTitle(book.getTitle());
@@ -0,0 +1,89 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.dto.CartQuote;
+import com.example.bookbe.dto.CartQuote.Warning;
+import com.example.bookbe.dto.CartQuoteRequest;
+import com.example.bookbe.exception.ServiceUnavailableException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices a cart the way OrderService.createOrder would, from the in-memory
+ * {@link BookPriceSnapshot}, and reports per line what would make the order
+ * fail or cost something else than the client shows.
+ */
+@Service
+@Timed(value = "bookstore.service", histogram = true)
+@RequiredArgsConstructor
+public class CartService {
+    private final BookPriceSnapshot priceSnapshot;
+
+    @Value("${cart.quote.max-lines:200}")
+    private int maxLines;
+
+    public CartQuote quote(CartQuoteRequest request) {
+        List<CartQuoteRequest.Line> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("The cart is empty");
+        }
+        if (items.size() > maxLines) {
+            throw new IllegalArgumentException("At most " + maxLines + " cart lines per quote");
+        }
+        if (!priceSnapshot.isLoaded()) {
+            throw new ServiceUnavailableException("Prices are still loading, try again shortly", 5);
+        }
+
+        // Stock is checked against everything ordered of a book, wherever the lines repeat it
+        Map<Long, Integer> requested = new HashMap<>();
+        for (CartQuoteRequest.Line item : items) {
+            if (item.getBookId() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                requested.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        CartQuote quote = new CartQuote();
+        for (CartQuoteRequest.Line item : items) {
+            CartQuote.Line line = new CartQuote.Line();
+            line.setBookId(item.getBookId());
+            line.setQuantity(item.getQuantity());
+            boolean validQuantity = item.getQuantity() != null && item.getQuantity() > 0;
+            if (!validQuantity) {
+                line.getWarnings().add(Warning.INVALID_QUANTITY);
+            }
+
+            BookPriceSnapshot.Entry book = item.getBookId() != null ? priceSnapshot.get(item.getBookId()) : null;
+            if (book == null) {
+                line.getWarnings().add(Warning.NOT_FOUND);
+            } else {
+                line.setUnitPrice(book.price());
+                line.setAvailableStock(book.stock());
+                if (item.getExpectedPrice() != null && item.getExpectedPrice().compareTo(book.price()) != 0) {
+                    line.getWarnings().add(Warning.PRICE_CHANGED);
+                }
+                if (book.stock() <= 0) {
+                    line.getWarnings().add(Warning.OUT_OF_STOCK);
+                } else if (validQuantity && requested.get(item.getBookId()) > book.stock()) {
+                    line.getWarnings().add(Warning.INSUFFICIENT_STOCK);
+                }
+                if (validQuantity) {
+                    // As OrderItem.calculateSubtotal
+                    line.setLineTotal(book.price().multiply(BigDecimal.valueOf(item.getQuantity())));
+                    quote.setTotal(quote.getTotal().add(line.getLineTotal()));
+                    quote.setItemCount(quote.getItemCount() + item.getQuantity());
+                }
+            }
+            quote.getLines().add(line);
+        }
+        quote.setCheckoutReady(quote.getLines().stream()
+                .flatMap(line -> line.getWarnings().stream())
+                .noneMatch(Warning::blocksCheckout));
+        return quote;
+    }
+}
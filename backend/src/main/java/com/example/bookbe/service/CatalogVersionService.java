@@ -0,0 +1,120 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.dto.CatalogVersion;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ETag/Last-Modified validators for the catalog endpoints, each read with one
+ * aggregate statement over indexed columns instead of loading entities. A
+ * list's version combines the row count (so deletes show), the highest id and
+ * the latest updated_at of every table its body draws on, and is weak: it
+ * stands for the whole table, whatever filter or view the list applies. A
+ * single resource's version is strong and combines the updated_at of its own
+ * row and of the rows embedded in it.
+ *
+ * Versions are read-only reads, routed like the bodies they validate. A
+ * controller runs the check and the body in one transaction through
+ * {@link #consistently}, so a lagging replica cannot pair an old body with
+ * a newer version.
+ */
+@Service
+@Timed(value = "bookstore.service", histogram = true)
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CatalogVersionService {
+    // Book lists embed author and category names
+    private static final String BOOKS = "SELECT "
+            + "(SELECT COUNT(*) FROM books), (SELECT MAX(id) FROM books), (SELECT MAX(updated_at) FROM books), "
+            + "(SELECT COUNT(*) FROM authors), (SELECT MAX(updated_at) FROM authors), "
+            + "(SELECT COUNT(*) FROM categories), (SELECT MAX(updated_at) FROM categories)";
+    private static final String BOOK = "SELECT b.updated_at, a.updated_at, "
+            + "(SELECT COUNT(*) FROM book_categories bc WHERE bc.book_id = b.id), "
+            + "(SELECT MAX(c.updated_at) FROM book_categories bc JOIN categories c ON c.id = bc.category_id "
+            + "WHERE bc.book_id = b.id) "
+            + "FROM books b LEFT JOIN authors a ON a.id = b.author_id WHERE b.id = :id";
+    private static final String AUTHORS = "SELECT COUNT(*), MAX(id), MAX(updated_at) FROM authors";
+    private static final String AUTHOR = "SELECT updated_at FROM authors WHERE id = :id";
+    private static final String CATEGORIES = "SELECT COUNT(*), MAX(id), MAX(updated_at) FROM categories";
+    private static final String CATEGORY = "SELECT updated_at FROM categories WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs a version check and the read it guards on one connection and
+     * snapshot; the service methods called inside join this transaction.
+     */
+    public <T> T consistently(Supplier<T> read) {
+        return read.get();
+    }
+
+    public CatalogVersion books() {
+        return read(BOOKS, Map.of(), true);
+    }
+
+    /**
+     * Null when the book does not exist.
+     */
+    public CatalogVersion book(Long id) {
+        return read(BOOK, Map.of("id", id), false);
+    }
+
+    public CatalogVersion authors() {
+        return read(AUTHORS, Map.of(), true);
+    }
+
+    public CatalogVersion author(Long id) {
+        return read(AUTHOR, Map.of("id", id), false);
+    }
+
+    public CatalogVersion categories() {
+        return read(CATEGORIES, Map.of(), true);
+    }
+
+    public CatalogVersion category(Long id) {
+        return read(CATEGORY, Map.of("id", id), false);
+    }
+
+    private CatalogVersion read(String sql, Map<String, ?> params, boolean weak) {
+        List<CatalogVersion> versions = jdbcTemplate.query(sql, params, (rs, rowNum) -> toVersion(rs, weak));
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private static CatalogVersion toVersion(ResultSet rs, boolean weak) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        StringBuilder key = new StringBuilder();
+        Instant lastModified = null;
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (metaData.getColumnType(column) == Types.TIMESTAMP) {
+                Timestamp timestamp = rs.getTimestamp(column);
+                if (timestamp != null) {
+                    Instant instant = timestamp.toInstant();
+                    key.append(instant);
+                    if (lastModified == null || instant.isAfter(lastModified)) {
+                        lastModified = instant;
+                    }
+                }
+            } else {
+                key.append(rs.getObject(column));
+            }
+            key.append('|');
+        }
+        String hash = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+        return new CatalogVersion((weak ? "W/\"" : "\"") + hash + "\"", lastModified);
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.bookbe.service;
 
 import com.example.bookbe.dto.CategoryDto;
+import com.example.bookbe.entity.Book;
 import com.example.bookbe.entity.Category;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +18,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Transactional
     public CategoryDto createCategory(CategoryDto categoryDto) {
@@ -28,12 +33,14 @@ public class CategoryService {
         return convertToDto(savedCategory);
     }
 
+    @Transactional(readOnly = true)
     public CategoryDto getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         return convertToDto(category);
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .map(this::convertToDto)
@@ -43,7 +50,7 @@ public class CategoryService {
     @Transactional
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         if (categoryDto.getName() != null) category.setName(categoryDto.getName());
         if (categoryDto.getDescription() != null) category.setDescription(categoryDto.getDescription());
@@ -55,9 +62,12 @@ public class CategoryService {
     @Transactional
     public void deleteCategory(Long id) {
         if (!categoryRepository.existsById(id)) {
-            throw new RuntimeException("Category not found");
+            throw new ResourceNotFoundException("Category not found");
         }
         categoryRepository.deleteById(id);
+        // Book.categories is the owning side, so Hibernate does not see the removal there
+        entityManagerFactory.getCache().unwrap(Cache.class)
+                .evictCollectionData(Book.class.getName() + ".categories");
     }
 
     private CategoryDto convertToDto(Category category) {
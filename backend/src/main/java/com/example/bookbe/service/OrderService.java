@@ -1,31 +1,38 @@
 package com.example.bookbe.service;
 
+import com.example.bookbe.config.BooksChangedEvent;
 import com.example.bookbe.dto.CreateOrderRequest;
 import com.example.bookbe.dto.OrderDto;
 import com.example.bookbe.dto.OrderItemDto;
 import com.example.bookbe.entity.*;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.repository.BookRepository;
 import com.example.bookbe.repository.OrderRepository;
 import com.example.bookbe.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "bookstore.service", histogram = true)
 @RequiredArgsConstructor
 public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrderDto createOrder(Long userId, CreateOrderRequest request) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         Order order = new Order();
         order.setUser(user);
@@ -36,7 +43,7 @@ public class OrderService {
 
         for (var itemRequest : request.getItems()) {
             Book book = bookRepository.findById(itemRequest.getBookId())
-                    .orElseThrow(() -> new RuntimeException("Book not found: " + itemRequest.getBookId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Book not found: " + itemRequest.getBookId()));
 
             if (book.getStock() < itemRequest.getQuantity()) {
                 throw new RuntimeException("Insufficient stock for book: " + book.getTitle());
@@ -59,27 +66,32 @@ public class OrderService {
 
         order.setTotalAmount(totalAmount);
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new BooksChangedEvent(bookIds(order)));
         return convertToDto(savedOrder);
     }
 
+    @Transactional(readOnly = true)
     public OrderDto getOrderById(Long id) {
         Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         return convertToDto(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDto> getAllOrders() {
         return orderRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDto> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
+        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDto> getOrdersByStatus(Order.OrderStatus status) {
         return orderRepository.findByStatus(status).stream()
                 .map(this::convertToDto)
@@ -89,7 +101,7 @@ public class OrderService {
     @Transactional
     public OrderDto updateOrderStatus(Long id, Order.OrderStatus status) {
         Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
         return convertToDto(updatedOrder);
@@ -98,7 +110,7 @@ public class OrderService {
     @Transactional
     public void cancelOrder(Long id) {
         Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         if (order.getStatus() == Order.OrderStatus.DELIVERED) {
             throw new RuntimeException("Cannot cancel a delivered order");
@@ -113,6 +125,13 @@ public class OrderService {
 
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
+        eventPublisher.publishEvent(new BooksChangedEvent(bookIds(order)));
+    }
+
+    private static Set<Long> bookIds(Order order) {
+        return order.getOrderItems().stream()
+                .map(item -> item.getBook().getId())
+                .collect(Collectors.toSet());
     }
 
     private OrderDto convertToDto(Order order) {
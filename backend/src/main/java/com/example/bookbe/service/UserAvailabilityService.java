@@ -0,0 +1,106 @@
+package com.example.bookbe.service;
+
+import com.example.bookbe.dto.AvailabilityResponse;
+import com.example.bookbe.repository.UserRepository;
+import com.example.bookbe.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Answers "is this username/email taken?" from in-memory Bloom filters. A
+ * negative answer is definitive and costs no query; a positive one is
+ * confirmed against the database. Until the filters have been built every
+ * check goes to the database.
+ */
+@Slf4j
+@Service
+public class UserAvailabilityService {
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   @Value("${auth.availability.expected-users:1000000}") long expectedUsers,
+                                   @Value("${auth.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        BloomFilter newUsernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        BloomFilter newEmails = new BloomFilter(expectedUsers, falsePositiveRate);
+        long afterId = 0L;
+        long loaded = 0;
+        while (true) {
+            List<UserRepository.UserIdentity> batch =
+                    userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (UserRepository.UserIdentity identity : batch) {
+                newUsernames.put(normalize(identity.getUsername()));
+                newEmails.put(normalize(identity.getEmail()));
+                afterId = identity.getId();
+            }
+            loaded += batch.size();
+        }
+        usernames = newUsernames;
+        emails = newEmails;
+        log.info("Loaded {} users into availability filters", loaded);
+    }
+
+    public AvailabilityResponse check(String username, String email) {
+        Boolean usernameAvailable = username == null || username.isBlank() ? null : isUsernameAvailable(username);
+        Boolean emailAvailable = email == null || email.isBlank() ? null : isEmailAvailable(email);
+        return new AvailabilityResponse(usernameAvailable, emailAvailable);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        BloomFilter filter = usernames;
+        if (filter != null && !filter.mightContain(normalize(username))) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        BloomFilter filter = emails;
+        if (filter != null && !filter.mightContain(normalize(email))) {
+            return true;
+        }
+        return !userRepository.existsByEmail(email);
+    }
+
+    public void registerTaken(String username, String email) {
+        // While the startup load is still running, its id scan picks the new user up instead
+        BloomFilter usernameFilter = usernames;
+        BloomFilter emailFilter = emails;
+        if (usernameFilter != null) {
+            usernameFilter.put(normalize(username));
+        }
+        if (emailFilter != null) {
+            emailFilter.put(normalize(email));
+        }
+    }
+
+    // MySQL's default collation compares case-insensitively
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
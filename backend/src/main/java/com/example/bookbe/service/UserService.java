@@ -2,31 +2,34 @@ package com.example.bookbe.service;
 
 import com.example.bookbe.dto.RegisterRequest;
 import com.example.bookbe.dto.UserDto;
+import com.example.bookbe.dto.UserSearchCriteria;
+import com.example.bookbe.dto.UserSummaryDto;
 import com.example.bookbe.entity.User;
+import com.example.bookbe.exception.DuplicateUserException;
+import com.example.bookbe.exception.ResourceNotFoundException;
 import com.example.bookbe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserAvailabilityService userAvailabilityService;
 
+    /**
+     * Registers a user with a single INSERT; uniqueness is left to the
+     * database constraints and violations are reported per field.
+     */
     @Transactional
     public UserDto createUser(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("Username already exists");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
@@ -37,26 +40,32 @@ public class UserService {
         user.setAddress(request.getAddress());
         user.setRole(User.Role.USER);
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicate(e, request);
+        }
+        userAvailabilityService.registerTaken(savedUser.getUsername(), savedUser.getEmail());
         return convertToDto(savedUser);
     }
 
+    @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         return convertToDto(user);
     }
 
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<UserSummaryDto> searchUsers(UserSearchCriteria criteria, Pageable pageable) {
+        return userRepository.searchUsers(criteria, pageable);
     }
 
     @Transactional
     public UserDto updateUser(Long id, UserDto userDto) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         if (userDto.getFirstName() != null) user.setFirstName(userDto.getFirstName());
         if (userDto.getLastName() != null) user.setLastName(userDto.getLastName());
@@ -70,11 +79,38 @@ public class UserService {
     @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
+            throw new ResourceNotFoundException("User not found");
         }
         userRepository.deleteById(id);
     }
 
+    private RuntimeException translateDuplicate(DataIntegrityViolationException e, RegisterRequest request) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                constraint = violation.getConstraintName();
+                break;
+            }
+        }
+        String detail = (constraint != null ? constraint : "") + " " + e.getMostSpecificCause().getMessage();
+        detail = detail.toLowerCase();
+
+        // Named constraints first; older schemas with generated names still quote the duplicate value
+        if (detail.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateUserException("username", "Username already exists");
+        }
+        if (detail.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateUserException("email", "Email already exists");
+        }
+        if (request.getEmail() != null && detail.contains("'" + request.getEmail().toLowerCase() + "'")) {
+            return new DuplicateUserException("email", "Email already exists");
+        }
+        if (request.getUsername() != null && detail.contains("'" + request.getUsername().toLowerCase() + "'")) {
+            return new DuplicateUserException("username", "Username already exists");
+        }
+        return new RuntimeException("Could not create user: " + e.getMostSpecificCause().getMessage(), e);
+    }
+
     private UserDto convertToDto(User user) {
         UserDto dto = new UserDto();
         dto.setId(user.getId());
@@ -0,0 +1,81 @@
+package com.example.bookbe.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Command line mode that fills the configured database with a synthetic
+ * dataset and exits, e.g.
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=generate-data --dataset.books=1000000 --dataset.orders=4000000
+ * </pre>
+ * Every generated user logs in with dataset.user-password.
+ */
+@Slf4j
+@Component
+@Profile("generate-data")
+@RequiredArgsConstructor
+public class BulkDataCommand implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+
+    @Value("${dataset.authors:50000}")
+    private int authors;
+
+    @Value("${dataset.categories:200}")
+    private int categories;
+
+    @Value("${dataset.books:1000000}")
+    private int books;
+
+    @Value("${dataset.users:500000}")
+    private int users;
+
+    @Value("${dataset.orders:4000000}")
+    private int orders;
+
+    @Value("${dataset.max-items-per-order:4}")
+    private int maxItemsPerOrder;
+
+    @Value("${dataset.user-password:password123}")
+    private String userPassword;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    @Value("${dataset.defer-indexes:true}")
+    private boolean deferIndexes;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            // One hash for every user; bcrypt per row would dominate the run
+            new BulkDataGenerator(dataSource, passwordEncoder.encode(userPassword)).generate(
+                    new BulkDataGenerator.DatasetSpec(authors, categories, books, users, orders, maxItemsPerOrder,
+                            List.of()),
+                    seed, rowsPerStatement, deferIndexes);
+        } catch (Exception e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.bookbe.util;
+
+import com.example.bookbe.entity.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * Generates a production-sized dataset with plain JDBC. Ids are assigned here
+ * (continuing after the current maximum; orders and order items reserve a
+ * block from id_generators, which Hibernate allocates them from) so rows can
+ * reference each other without reading keys back. Rows go out as multi-row INSERT statements,
+ * committed every few thousand rows. Non-unique secondary indexes are dropped
+ * for the load and rebuilt afterwards where the database allows it (MySQL
+ * refuses for indexes a foreign key relies on; those stay). On MySQL unique
+ * and foreign key checks are also switched off for the session.
+ *
+ * <p>Demand is skewed: a small head of authors, categories, books and users
+ * accounts for most books, assignments and orders (see {@link #popular}).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BulkDataGenerator {
+    // Book titles are two of these plus the id, so they double as search terms
+    public static final List<String> TITLE_WORDS = List.of("River", "Shadow", "Garden", "Empire", "Silent",
+            "Winter", "Code", "Ocean", "Mountain", "Secret", "Light", "Night", "Journey", "Storm", "Glass", "Iron",
+            "Golden", "Lost");
+
+    private static final int COMMIT_ROWS = 20_000;
+    // Status mix of a shop whose history is mostly fulfilled orders
+    private static final Order.OrderStatus[] STATUSES = {
+            Order.OrderStatus.DELIVERED, Order.OrderStatus.DELIVERED, Order.OrderStatus.DELIVERED,
+            Order.OrderStatus.DELIVERED, Order.OrderStatus.DELIVERED, Order.OrderStatus.DELIVERED,
+            Order.OrderStatus.DELIVERED, Order.OrderStatus.SHIPPED, Order.OrderStatus.PROCESSING,
+            Order.OrderStatus.PENDING, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED};
+    // Secondary indexes that only serve reads: table, name, columns
+    private static final String[][] DEFERRED_INDEXES = {
+            {"books", "idx_books_stock", "stock"},
+            {"books", "idx_books_image_url", "image_url"},
+            {"users", "idx_users_created_at", "created_at"},
+            {"users", "idx_users_role_enabled_created_at", "role, enabled, created_at"},
+            {"orders", "idx_orders_status", "status"},
+            {"orders", "idx_orders_user_created", "user_id, created_at"}};
+
+    private final DataSource dataSource;
+    private final String passwordHash;
+
+    public record DatasetSpec(int authors, int categories, int books, int users, int orders,
+                              int maxItemsPerOrder, List<String> imageNames) {
+    }
+
+    /**
+     * Contiguous ids of the generated rows.
+     */
+    public record IdRange(long first, int count) {
+        public List<Long> ids() {
+            return LongStream.range(first, first + count).boxed().toList();
+        }
+    }
+
+    public record GeneratedDataset(IdRange authors, IdRange categories, IdRange books, IdRange users,
+                                   IdRange orders, long orderItems) {
+    }
+
+    public GeneratedDataset generate(DatasetSpec spec, long seed, int rowsPerStatement, boolean deferIndexes)
+            throws SQLException {
+        if (spec.books() > 0 && (spec.authors() < 1 || spec.categories() < 1)
+                || spec.orders() > 0 && (spec.books() < 1 || spec.users() < 1 || spec.maxItemsPerOrder() < 1)) {
+            throw new IllegalArgumentException("Books need authors and categories; orders need books and users");
+        }
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            if (mysql) {
+                execute(connection, "SET unique_checks = 0, foreign_key_checks = 0");
+            }
+            List<String[]> dropped = deferIndexes ? dropIndexes(connection) : List.of();
+            try {
+                IdRange authors = new IdRange(nextId(connection, "authors"), spec.authors());
+                try (MultiRowInsert insert = new MultiRowInsert(connection, "authors",
+                        "id, name, biography, created_at, updated_at", rowsPerStatement, null)) {
+                    for (int i = 0; i < authors.count(); i++) {
+                        long id = authors.first() + i;
+                        insert.add(id, "Author " + id, "Generated author " + id, timestamp, timestamp);
+                    }
+                }
+
+                IdRange categories = new IdRange(nextId(connection, "categories"), spec.categories());
+                try (MultiRowInsert insert = new MultiRowInsert(connection, "categories",
+                        "id, name, description, created_at, updated_at", rowsPerStatement, null)) {
+                    for (int i = 0; i < categories.count(); i++) {
+                        long id = categories.first() + i;
+                        insert.add(id, "Category " + id, "Generated category " + id, timestamp, timestamp);
+                    }
+                }
+
+                IdRange books = new IdRange(nextId(connection, "books"), spec.books());
+                int categoryStride = coprimeStride(categories.count());
+                int[] priceCents = new int[books.count()];
+                try (MultiRowInsert bookInsert = new MultiRowInsert(connection, "books",
+                        "id, title, description, price, stock, isbn, publication_date, image_url, created_at, "
+                                + "updated_at, author_id", rowsPerStatement, null);
+                     MultiRowInsert categoryInsert = new MultiRowInsert(connection, "book_categories",
+                             "book_id, category_id", rowsPerStatement, bookInsert)) {
+                    List<String> imageNames = spec.imageNames();
+                    for (int i = 0; i < books.count(); i++) {
+                        long id = books.first() + i;
+                        priceCents[i] = 199 + random.nextInt(9_800);
+                        String title = TITLE_WORDS.get(random.nextInt(TITLE_WORDS.size())) + " "
+                                + TITLE_WORDS.get(random.nextInt(TITLE_WORDS.size())) + " " + id;
+                        String image = imageNames.isEmpty() || random.nextInt(10) == 0
+                                ? null : imageNames.get(random.nextInt(imageNames.size()));
+                        bookInsert.add(id, title, "Generated book " + id, BigDecimal.valueOf(priceCents[i], 2),
+                                1_000_000, String.format("978%010d", id),
+                                Timestamp.valueOf(now.minusDays(random.nextInt(3_650))), image, timestamp, timestamp,
+                                authors.first() + popular(random, authors.count(), 2));
+
+                        // One to three distinct categories, biased towards the popular ones
+                        int first = popular(random, categories.count(), 2);
+                        categoryInsert.add(id, categories.first() + first);
+                        for (int c = 1, extra = random.nextInt(3); c <= extra && c < categories.count(); c++) {
+                            categoryInsert.add(id, categories.first() + (first + c * (long) categoryStride) % categories.count());
+                        }
+                    }
+                }
+
+                IdRange users = new IdRange(nextId(connection, "users"), spec.users());
+                try (MultiRowInsert insert = new MultiRowInsert(connection, "users",
+                        "id, username, email, password, first_name, last_name, role, enabled, created_at, updated_at",
+                        rowsPerStatement, null)) {
+                    for (int i = 0; i < users.count(); i++) {
+                        long id = users.first() + i;
+                        Timestamp created = Timestamp.valueOf(now.minusMinutes(random.nextInt(1_051_200)));
+                        insert.add(id, "gen_user_" + id, "gen_user_" + id + "@example.test", passwordHash,
+                                "Generated", "User " + id, "USER", true, created, created);
+                    }
+                }
+
+                IdRange orders = new IdRange(reserveIds(connection, "orders", spec.orders()), spec.orders());
+                long itemId = reserveIds(connection, "order_items", (long) spec.orders() * spec.maxItemsPerOrder());
+                long firstItemId = itemId;
+                try (MultiRowInsert orderInsert = new MultiRowInsert(connection, "orders",
+                        "id, order_number, total_amount, status, shipping_address, created_at, updated_at, user_id",
+                        rowsPerStatement, null);
+                     MultiRowInsert itemInsert = new MultiRowInsert(connection, "order_items",
+                             "id, quantity, price, subtotal, order_id, book_id", rowsPerStatement, orderInsert)) {
+                    Object[][] items = new Object[spec.maxItemsPerOrder()][];
+                    for (int i = 0; i < orders.count(); i++) {
+                        long id = orders.first() + i;
+                        int itemCount = 1 + random.nextInt(spec.maxItemsPerOrder());
+                        long totalCents = 0;
+                        for (int n = 0; n < itemCount; n++) {
+                            int book = popular(random, books.count(), 3);
+                            int quantity = 1 + random.nextInt(3);
+                            totalCents += (long) priceCents[book] * quantity;
+                            items[n] = new Object[]{itemId++, quantity, BigDecimal.valueOf(priceCents[book], 2),
+                                    BigDecimal.valueOf((long) priceCents[book] * quantity, 2), id,
+                                    books.first() + book};
+                        }
+                        Timestamp created = Timestamp.valueOf(now.minusMinutes(random.nextInt(1_051_200)));
+                        orderInsert.add(id, "GEN-" + id, BigDecimal.valueOf(totalCents, 2),
+                                STATUSES[random.nextInt(STATUSES.length)].name(), id + " Generated Street", created,
+                                created, users.first() + popular(random, users.count(), 2));
+                        for (int n = 0; n < itemCount; n++) {
+                            itemInsert.add(items[n]);
+                        }
+                    }
+                }
+
+                if (!mysql) {
+                    // MySQL moves AUTO_INCREMENT past explicit ids by itself
+                    for (String table : List.of("authors", "categories", "books", "users", "orders", "order_items")) {
+                        execute(connection, "ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH "
+                                + nextId(connection, table));
+                    }
+                }
+                connection.commit();
+
+                GeneratedDataset dataset = new GeneratedDataset(authors, categories, books, users, orders,
+                        itemId - firstItemId);
+                log.info("Generated {} authors, {} categories, {} books, {} users, {} orders ({} items) in {} ms",
+                        authors.count(), categories.count(), books.count(), users.count(), orders.count(),
+                        dataset.orderItems(), (System.nanoTime() - started) / 1_000_000);
+                return dataset;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                if (!dropped.isEmpty()) {
+                    long indexStarted = System.nanoTime();
+                    for (String[] index : dropped) {
+                        execute(connection, "CREATE INDEX " + index[1] + " ON " + index[0] + " (" + index[2] + ")");
+                    }
+                    log.info("Rebuilt {} indexes in {} ms", dropped.size(), (System.nanoTime() - indexStarted) / 1_000_000);
+                }
+                if (mysql) {
+                    execute(connection, "SET unique_checks = 1, foreign_key_checks = 1");
+                }
+                connection.commit();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Power-law pick from [0, count): low indexes come up far more often, the
+     * more so the higher the exponent.
+     */
+    public static int popular(Random random, int count, int exponent) {
+        return (int) (count * Math.pow(random.nextDouble(), exponent));
+    }
+
+    /**
+     * A step of at least 7 that shares no factor with count, so the first
+     * count - 1 multiples never land on the same category twice.
+     */
+    static int coprimeStride(int count) {
+        int stride = 7;
+        while (count > 1 && gcd(stride, count) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static List<String[]> dropIndexes(Connection connection) throws SQLException {
+        List<String[]> dropped = new ArrayList<>();
+        for (String[] index : DEFERRED_INDEXES) {
+            try {
+                execute(connection, "DROP INDEX " + index[1] + " ON " + index[0]);
+                connection.commit();
+                dropped.add(index);
+            } catch (SQLException e) {
+                connection.rollback();
+                log.info("Keeping index {} during the load: {}", index[1], e.getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Takes count ids out of the pooled sequence Hibernate uses for the table.
+     * next_val is the top of the next block Hibernate would hand out, so the
+     * reserved ids start where that block would have and next_val moves past them.
+     */
+    private static long reserveIds(Connection connection, String table, long count) throws SQLException {
+        long next;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE")) {
+            select.setString(1, table);
+            try (ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                next = resultSet.getLong(1);
+            }
+        }
+        long first = Math.max(next - (Order.ID_ALLOCATION_SIZE - 1), nextId(connection, table));
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE id_generators SET next_val = ? WHERE sequence_name = ?")) {
+            update.setLong(1, first + count + Order.ID_ALLOCATION_SIZE - 1);
+            update.setString(2, table);
+            update.executeUpdate();
+        }
+        connection.commit();
+        return first;
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Buffers rows for one table and writes them rowsPerStatement at a time as
+     * INSERT ... VALUES (...), (...). A parent is flushed first so foreign keys
+     * always point at rows already sent.
+     */
+    private static final class MultiRowInsert implements AutoCloseable {
+        private final Connection connection;
+        private final String sqlPrefix;
+        private final String rowPlaceholders;
+        private final int columns;
+        private final int rowsPerStatement;
+        private final MultiRowInsert parent;
+        private final Object[] buffer;
+        private PreparedStatement fullStatement;
+        private int rows;
+        private int uncommitted;
+
+        MultiRowInsert(Connection connection, String table, String columnList, int rowsPerStatement,
+                       MultiRowInsert parent) {
+            this.connection = connection;
+            this.columns = columnList.split(",").length;
+            this.sqlPrefix = "INSERT INTO " + table + " (" + columnList + ") VALUES ";
+            this.rowPlaceholders = "(" + "?, ".repeat(columns - 1) + "?)";
+            this.rowsPerStatement = rowsPerStatement;
+            this.parent = parent;
+            this.buffer = new Object[columns * rowsPerStatement];
+        }
+
+        void add(Object... values) throws SQLException {
+            System.arraycopy(values, 0, buffer, rows * columns, columns);
+            if (++rows == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (rows == 0) {
+                return;
+            }
+            if (rows == rowsPerStatement) {
+                if (fullStatement == null) {
+                    fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+                }
+                write(fullStatement);
+            } else {
+                try (PreparedStatement statement = connection.prepareStatement(sql(rows))) {
+                    write(statement);
+                }
+            }
+            uncommitted += rows;
+            rows = 0;
+            if (uncommitted >= COMMIT_ROWS) {
+                connection.commit();
+                uncommitted = 0;
+            }
+        }
+
+        private void write(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < rows * columns; i++) {
+                statement.setObject(i + 1, buffer[i]);
+            }
+            statement.executeUpdate();
+        }
+
+        private String sql(int rowCount) {
+            return sqlPrefix + String.join(", ", Collections.nCopies(rowCount, rowPlaceholders));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+        }
+    }
+}
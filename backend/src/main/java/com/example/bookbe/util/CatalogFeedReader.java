@@ -0,0 +1,180 @@
+package com.example.bookbe.util;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the rows of a catalog feed one at a time, so an import never holds
+ * more than the current row. CSV feeds start with a header row and follow
+ * RFC 4180 quoting; NDJSON feeds carry one JSON object per line. Field names
+ * are lower-cased, and a JSON array value (e.g. categories) is joined with
+ * {@link #LIST_SEPARATOR}, the separator CSV feeds use for lists.
+ */
+public abstract class CatalogFeedReader {
+    public static final String LIST_SEPARATOR = "|";
+
+    protected final BufferedReader reader;
+    protected int line;
+
+    /**
+     * One feed row: its fields, or why it could not be parsed.
+     */
+    public record Row(int line, Map<String, String> fields, String error) {
+    }
+
+    private CatalogFeedReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 65536);
+    }
+
+    public static CatalogFeedReader csv(Reader reader) {
+        return new Csv(reader);
+    }
+
+    public static CatalogFeedReader ndjson(Reader reader, JsonMapper jsonMapper) {
+        return new NdJson(reader, jsonMapper);
+    }
+
+    /**
+     * @return the next row, or null at the end of the feed
+     */
+    public abstract Row next() throws IOException;
+
+    private static final class Csv extends CatalogFeedReader {
+        private List<String> header;
+        private int nextLine = 1;
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>(names.size());
+                for (String name : names) {
+                    // Spreadsheet exports often start with a byte order mark
+                    header.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            List<String> values;
+            do {
+                values = readRecord();
+            } while (values != null && values.size() == 1 && values.get(0).isBlank());
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                return new Row(line, null, "Expected " + header.size() + " columns but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return new Row(line, fields, null);
+        }
+
+        /**
+         * Reads one record, which may span several lines when a quoted value
+         * contains line breaks; {@link #line} is set to the line it starts on.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            line = nextLine;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (c == '\n') {
+                    nextLine++;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"' && value.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+
+    private static final class NdJson extends CatalogFeedReader {
+        private final JsonMapper jsonMapper;
+
+        NdJson(Reader reader, JsonMapper jsonMapper) {
+            super(reader);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            JsonNode node;
+            try {
+                node = jsonMapper.readTree(text);
+            } catch (JacksonException e) {
+                return new Row(line, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new Row(line, null, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                JsonNode value = field.getValue();
+                String name = field.getKey().toLowerCase(Locale.ROOT);
+                if (value.isArray()) {
+                    List<String> items = new ArrayList<>();
+                    for (JsonNode item : value) {
+                        items.add(item.asString());
+                    }
+                    fields.put(name, String.join(LIST_SEPARATOR, items));
+                } else if (!value.isNull()) {
+                    fields.put(name, value.asString());
+                }
+            }
+            return new Row(line, fields, null);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookbe.util;
 
+import com.example.bookbe.config.CatalogChangedEvent;
 import com.example.bookbe.entity.Author;
 import com.example.bookbe.entity.Book;
 import com.example.bookbe.entity.Category;
@@ -9,7 +10,12 @@ import com.example.bookbe.repository.BookRepository;
 import com.example.bookbe.repository.CategoryRepository;
 import com.example.bookbe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -18,21 +24,53 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Seeds an empty database with a small catalog and the admin/test accounts.
+ * Runs once the application is ready, in the background by default so that
+ * neither the emptiness check nor the password hashing delays readiness;
+ * data.seed.async=false makes startup wait for it.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
 
     private final AuthorRepository authorRepository;
     private final CategoryRepository categoryRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TaskExecutor applicationTaskExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Override
-    public void run(String... args) {
-        // Only initialize if database is empty
-        if (authorRepository.count() == 0 && categoryRepository.count() == 0) {
-            initializeData();
+    @Value("${data.seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${data.seed.async:true}")
+    private boolean async;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        if (async) {
+            applicationTaskExecutor.execute(this::seedIfEmpty);
+        } else {
+            seedIfEmpty();
+        }
+    }
+
+    private void seedIfEmpty() {
+        try {
+            // Only initialize if database is empty
+            if (authorRepository.count() == 0 && categoryRepository.count() == 0) {
+                initializeData();
+                // Empty lists may have been served and cached while seeding ran
+                eventPublisher.publishEvent(new CatalogChangedEvent("data-initializer"));
+            }
+        } catch (RuntimeException e) {
+            log.error("Seeding sample data failed", e);
         }
     }
 
@@ -182,7 +220,7 @@ public class DataInitializer implements CommandLineRunner {
             userRepository.save(testUser);
         }
 
-        System.out.println("Data initialization completed!");
+        log.info("Data initialization completed");
     }
 
     private Author createAuthor(String name, String biography) {
@@ -1,22 +1,79 @@
 package com.example.bookbe.util;
 
+import com.example.bookbe.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
+    // Allowed image extensions
+    static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
+
+    // Stored names are "<sha-256 hex><extension>", sharded as ab/cd/abcd...ext
+    private static final Pattern CONTENT_FILENAME = Pattern.compile("^([0-9a-f]{64})(\\.[a-z0-9]+)$");
+    static final String TEMP_DIR = ".tmp";
+    static final String QUARANTINE_DIR = ".quarantine";
+
+    // Enough bytes to recognise every allowed format (WEBP needs 12)
+    private static final int SIGNATURE_LENGTH = 12;
+
+    // Store and delete of the same name are serialized on one of these stripes
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookRepository bookRepository;
+    private final ImageCache imageCache;
+
     @Value("${file.upload-dir:uploads/images/books}")
     private String uploadDir;
 
+    @Value("${file.upload.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${file.upload.max-concurrent:4}")
+    private int maxConcurrentUploads;
+
+    @Value("${image.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    private final ReentrantLock[] locks = newLocks();
+
+    // Direct buffers are reused across uploads so copying never grows the heap
+    private BlockingQueue<ByteBuffer> bufferPool;
+
+    @PostConstruct
+    void initBufferPool() {
+        bufferPool = new ArrayBlockingQueue<>(Math.max(1, maxConcurrentUploads));
+    }
+
     public String storeFile(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IOException("File is empty or null");
@@ -28,73 +85,236 @@ public class FileStorageService {
             throw new IOException("File name is null or empty");
         }
 
-        // Validate file extension
-        String extension = "";
-        int lastDotIndex = originalFilename.lastIndexOf('.');
-        if (lastDotIndex > 0 && lastDotIndex < originalFilename.length() - 1) {
-            extension = originalFilename.substring(lastDotIndex).toLowerCase();
-        }
-        
-        // Allowed image extensions
-        String[] allowedExtensions = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
-        boolean isValidExtension = false;
-        if (!extension.isEmpty()) {
-            for (String allowedExt : allowedExtensions) {
-                if (extension.equals(allowedExt)) {
-                    isValidExtension = true;
-                    break;
-                }
-            }
-        }
-        
-        if (!isValidExtension) {
+        String extension = extractExtension(originalFilename);
+        if (!isAllowedExtension(extension)) {
             throw new IOException("Invalid file type. Allowed types: JPG, JPEG, PNG, GIF, WEBP");
         }
 
-        // Generate unique filename
-        String filename = UUID.randomUUID().toString() + extension;
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeContent(inputStream, extension);
+        }
+    }
 
-        // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDir);
+    /**
+     * Streams content into a temp file while hashing it, then moves it to its
+     * content-addressed location. Identical content is stored only once. The
+     * leading bytes are checked against the image signature for the extension
+     * before the rest of the stream is written.
+     */
+    String storeContent(InputStream inputStream, String extension) throws IOException {
+        Path tempDir = Paths.get(uploadDir).resolve(TEMP_DIR);
         try {
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
+            Files.createDirectories(tempDir);
         } catch (IOException e) {
             throw new IOException("Failed to create upload directory: " + e.getMessage(), e);
         }
 
-        // Save file
+        Path tempFile = Files.createTempFile(tempDir, "upload-", extension);
+        ByteBuffer buffer = acquireBuffer();
         try {
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            MessageDigest digest = newDigest();
+            ReadableByteChannel source = inputStream instanceof FileInputStream fileStream
+                    ? fileStream.getChannel()
+                    : Channels.newChannel(inputStream);
+            try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                copyValidated(source, target, buffer, digest, extension);
+            }
+
+            String filename = HexFormat.of().formatHex(digest.digest()) + extension;
+            Path target = loadFile(filename);
+            ReentrantLock lock = lockFor(filename);
+            lock.lock();
+            try {
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    // Reused content restarts the orphan grace period until the book is saved
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                }
+            } finally {
+                lock.unlock();
+            }
+            return filename;
         } catch (IOException e) {
             throw new IOException("Failed to save file: " + e.getMessage(), e);
+        } finally {
+            releaseBuffer(buffer);
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void copyValidated(ReadableByteChannel source, FileChannel target, ByteBuffer buffer,
+                               MessageDigest digest, String extension) throws IOException {
+        boolean validated = false;
+        while (true) {
+            int read = source.read(buffer);
+            // Fill at least the signature before validating the first chunk
+            if (read >= 0 && !validated && buffer.position() < SIGNATURE_LENGTH) {
+                continue;
+            }
+            if (!validated) {
+                if (!matchesSignature(buffer, extension)) {
+                    throw new IOException("File content is not a valid " + extension.substring(1).toUpperCase() + " image");
+                }
+                validated = true;
+            }
+
+            buffer.flip();
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+            if (read < 0) {
+                return;
+            }
         }
+    }
 
-        return filename;
+    static boolean matchesSignature(ByteBuffer buffer, String extension) {
+        int length = buffer.position();
+        switch (extension) {
+            case ".jpg", ".jpeg" -> {
+                return length >= 3 && unsigned(buffer, 0) == 0xFF && unsigned(buffer, 1) == 0xD8 && unsigned(buffer, 2) == 0xFF;
+            }
+            case ".png" -> {
+                int[] png = {0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+                return length >= png.length && startsWith(buffer, 0, png);
+            }
+            case ".gif" -> {
+                return length >= 6 && startsWith(buffer, 0, new int[]{'G', 'I', 'F', '8'})
+                        && (unsigned(buffer, 4) == '7' || unsigned(buffer, 4) == '9') && unsigned(buffer, 5) == 'a';
+            }
+            case ".webp" -> {
+                return length >= 12 && startsWith(buffer, 0, new int[]{'R', 'I', 'F', 'F'})
+                        && startsWith(buffer, 8, new int[]{'W', 'E', 'B', 'P'});
+            }
+            default -> {
+                return false;
+            }
+        }
     }
 
+    private static boolean startsWith(ByteBuffer buffer, int offset, int[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (unsigned(buffer, offset + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int unsigned(ByteBuffer buffer, int index) {
+        return buffer.get(index) & 0xFF;
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        bufferPool.offer(buffer);
+    }
+
+    /**
+     * Deletes the file only when no book references it any more. Callers should
+     * invoke this after the book change that dropped the reference has committed.
+     * A file stored again within the grace period may belong to an upload whose
+     * book is not saved yet, so it is left to the orphan collector instead.
+     */
     public void deleteFile(String filename) throws IOException {
         if (filename == null || filename.isEmpty()) {
             return;
         }
-        Path filePath = Paths.get(uploadDir).resolve(filename);
-        if (Files.exists(filePath)) {
+        ReentrantLock lock = lockFor(filename);
+        lock.lock();
+        try {
+            if (bookRepository.countByImageUrl(filename) > 0) {
+                return;
+            }
+            Path filePath = loadFile(filename);
+            if (!Files.exists(filePath) || isRecentlyStored(filePath)) {
+                return;
+            }
+            imageCache.invalidate(filename);
             Files.delete(filePath);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The lock that serializes storing, touching and removing this name. */
+    ReentrantLock lockFor(String filename) {
+        return locks[Math.floorMod(filename.hashCode(), LOCK_STRIPES)];
+    }
+
+    private boolean isRecentlyStored(Path filePath) throws IOException {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        return Files.getLastModifiedTime(filePath).toInstant().isAfter(cutoff);
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
         }
+        return locks;
     }
 
     public Path loadFile(String filename) {
-        return Paths.get(uploadDir).resolve(filename);
+        Path uploadPath = Paths.get(uploadDir);
+        Matcher matcher = CONTENT_FILENAME.matcher(filename);
+        if (matcher.matches()) {
+            String hash = matcher.group(1);
+            return uploadPath.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(filename);
+        }
+        // Legacy UUID names still live in the flat directory until migrated
+        return uploadPath.resolve(filename);
     }
 
     public boolean fileExists(String filename) {
         if (filename == null || filename.isEmpty()) {
             return false;
         }
-        Path filePath = Paths.get(uploadDir).resolve(filename);
-        return Files.exists(filePath);
+        return Files.exists(loadFile(filename));
+    }
+
+    public boolean isContentAddressed(String filename) {
+        return filename != null && CONTENT_FILENAME.matcher(filename).matches();
+    }
+
+    public Path getUploadPath() {
+        return Paths.get(uploadDir);
     }
-}
 
+    static String extractExtension(String filename) {
+        int lastDotIndex = filename.lastIndexOf('.');
+        if (lastDotIndex > 0 && lastDotIndex < filename.length() - 1) {
+            return filename.substring(lastDotIndex).toLowerCase();
+        }
+        return "";
+    }
+
+    static boolean isAllowedExtension(String extension) {
+        if (extension.isEmpty()) {
+            return false;
+        }
+        for (String allowedExt : ALLOWED_EXTENSIONS) {
+            if (extension.equals(allowedExt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
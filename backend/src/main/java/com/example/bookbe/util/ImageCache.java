@@ -0,0 +1,151 @@
+package com.example.bookbe.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded LRU cache of image bytes held in direct (off-heap) buffers, so
+ * the heap only carries one small map entry per image no matter how many bytes
+ * are resident.
+ */
+@Component
+public class ImageCache {
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long residentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ImageCache(@Value("${image.cache.enabled:true}") boolean enabled,
+                      @Value("${image.cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${image.cache.max-entry-bytes:2097152}") long maxEntryBytes) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    /**
+     * Returns an independent read-only view of the cached bytes, or null on a miss.
+     */
+    public ByteBuffer get(String filename) {
+        if (!enabled) {
+            return null;
+        }
+        ByteBuffer buffer;
+        lock.lock();
+        try {
+            buffer = entries.get(filename);
+        } finally {
+            lock.unlock();
+        }
+        if (buffer == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return buffer.duplicate();
+    }
+
+    /**
+     * Reads the file into a direct buffer and caches it. Returns null when the
+     * cache is disabled or the file is too large to cache; callers then stream
+     * the file directly.
+     */
+    public ByteBuffer load(String filename, Path path) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > maxEntryBytes) {
+                return null;
+            }
+            buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or EOF
+            }
+        }
+        buffer.flip();
+        ByteBuffer readOnly = buffer.asReadOnlyBuffer();
+
+        lock.lock();
+        try {
+            ByteBuffer previous = entries.put(filename, readOnly);
+            if (previous != null) {
+                residentBytes -= previous.capacity();
+            }
+            residentBytes += readOnly.capacity();
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        return readOnly.duplicate();
+    }
+
+    public void invalidate(String filename) {
+        lock.lock();
+        try {
+            ByteBuffer removed = entries.remove(filename);
+            if (removed != null) {
+                residentBytes -= removed.capacity();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            residentBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        lock.lock();
+        try {
+            return new Stats(entries.size(), residentBytes, maxBytes, hitCount, missCount, evictions.sum(),
+                    total == 0 ? 0.0 : (double) hitCount / total);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, ByteBuffer>> iterator = entries.entrySet().iterator();
+        while (residentBytes > maxBytes && iterator.hasNext()) {
+            residentBytes -= iterator.next().getValue().capacity();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    public record Stats(int entries, long residentBytes, long maxBytes, long hits, long misses,
+                        long evictions, double hitRatio) {
+    }
+}
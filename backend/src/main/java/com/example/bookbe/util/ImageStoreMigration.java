@@ -0,0 +1,82 @@
+package com.example.bookbe.util;
+
+import com.example.bookbe.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Moves files from the old flat upload directory into the content-addressed
+ * layout. Runs in the background after startup; until a file is moved,
+ * {@link FileStorageService#loadFile} keeps serving it from the flat directory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageStoreMigration {
+    private final FileStorageService fileStorageService;
+    private final BookRepository bookRepository;
+    private final ImageCache imageCache;
+
+    @Value("${file.storage.migrate-legacy:true}")
+    private boolean enabled;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyFiles() {
+        if (!enabled) {
+            return;
+        }
+        Path uploadPath = fileStorageService.getUploadPath();
+        if (!Files.isDirectory(uploadPath)) {
+            return;
+        }
+
+        int migrated = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(uploadPath, Files::isRegularFile)) {
+            for (Path legacyFile : stream) {
+                if (migrateFile(legacyFile)) {
+                    migrated++;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Image store migration aborted", e);
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} legacy images into the content-addressed store", migrated);
+        }
+    }
+
+    private boolean migrateFile(Path legacyFile) {
+        String legacyName = legacyFile.getFileName().toString();
+        String extension = FileStorageService.extractExtension(legacyName);
+        if (fileStorageService.isContentAddressed(legacyName) || !FileStorageService.isAllowedExtension(extension)) {
+            return false;
+        }
+
+        try {
+            String contentName;
+            try (InputStream in = Files.newInputStream(legacyFile)) {
+                contentName = fileStorageService.storeContent(in, extension);
+            }
+            // Copy first, repoint references, then drop the flat file so readers never see a gap
+            bookRepository.updateImageUrl(legacyName, contentName);
+            Files.deleteIfExists(legacyFile);
+            imageCache.invalidate(legacyName);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not migrate legacy image {}", legacyName, e);
+            return false;
+        }
+    }
+}
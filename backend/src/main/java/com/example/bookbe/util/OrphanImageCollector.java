@@ -0,0 +1,220 @@
+package com.example.bookbe.util;
+
+import com.example.bookbe.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reconciles the upload directory with books.image_url. Each run sweeps a few
+ * first-level shard directories and then yields, so a full pass over a large
+ * store is spread across many runs. Unreferenced files older than the grace
+ * period are moved to a quarantine directory rather than deleted; once a pass
+ * wraps around, dangling book references are reported (and restored from
+ * quarantine when possible).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanImageCollector {
+    // Cursor value for the flat legacy files and end-of-pass housekeeping
+    private static final int ROOT_SHARD = 256;
+    private static final int MAX_REPORTED_IDS = 20;
+
+    private final FileStorageService fileStorageService;
+    private final BookRepository bookRepository;
+    private final ImageCache imageCache;
+
+    @Value("${image.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${image.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${image.gc.quarantine-retention-days:7}")
+    private long quarantineRetentionDays;
+
+    @Value("${image.gc.shards-per-run:16}")
+    private int shardsPerRun;
+
+    @Value("${image.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${image.gc.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    private int cursor;
+
+    @Scheduled(initialDelayString = "${image.gc.initial-delay-ms:60000}", fixedDelayString = "${image.gc.interval-ms:300000}")
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        Path uploadPath = fileStorageService.getUploadPath();
+        if (!Files.isDirectory(uploadPath)) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        int[] quarantined = {0};
+        try {
+            for (int i = 0; i < shardsPerRun; i++) {
+                if (cursor >= ROOT_SHARD) {
+                    sweepDirectory(uploadPath, cutoff, quarantined);
+                    cleanDirectory(uploadPath.resolve(FileStorageService.TEMP_DIR), cutoff);
+                    cleanDirectory(uploadPath.resolve(FileStorageService.QUARANTINE_DIR),
+                            Instant.now().minus(Duration.ofDays(quarantineRetentionDays)));
+                    reportDanglingReferences(uploadPath.resolve(FileStorageService.QUARANTINE_DIR));
+                    cursor = 0;
+                    break;
+                }
+
+                Path shard = uploadPath.resolve(String.format("%02x", cursor++));
+                if (Files.isDirectory(shard)) {
+                    try (DirectoryStream<Path> subShards = Files.newDirectoryStream(shard, Files::isDirectory)) {
+                        for (Path subShard : subShards) {
+                            sweepDirectory(subShard, cutoff, quarantined);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Orphan image sweep failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (quarantined[0] > 0) {
+            log.info("Quarantined {} orphan images", quarantined[0]);
+        }
+    }
+
+    private void sweepDirectory(Path directory, Instant cutoff, int[] quarantined) throws IOException, InterruptedException {
+        Map<String, Path> batch = new LinkedHashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (!FileStorageService.isAllowedExtension(FileStorageService.extractExtension(name))) {
+                    continue;
+                }
+                batch.put(name, file);
+                if (batch.size() >= batchSize) {
+                    quarantined[0] += quarantineUnreferenced(batch, cutoff);
+                    batch.clear();
+                    Thread.sleep(batchPauseMs);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            quarantined[0] += quarantineUnreferenced(batch, cutoff);
+        }
+    }
+
+    private int quarantineUnreferenced(Map<String, Path> batch, Instant cutoff) throws IOException {
+        Set<String> referenced = new HashSet<>(bookRepository.findReferencedImageUrls(batch.keySet()));
+        Path quarantineDir = fileStorageService.getUploadPath().resolve(FileStorageService.QUARANTINE_DIR);
+        int count = 0;
+        for (Map.Entry<String, Path> entry : batch.entrySet()) {
+            if (referenced.contains(entry.getKey())) {
+                continue;
+            }
+            Path file = entry.getValue();
+            // Checked under the store lock so a concurrent upload of the same content
+            // either touches the file first or stores it afresh afterwards
+            ReentrantLock lock = fileStorageService.lockFor(entry.getKey());
+            lock.lock();
+            try {
+                if (!Files.exists(file) || Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                Files.createDirectories(quarantineDir);
+                Path quarantined = quarantineDir.resolve(entry.getKey());
+                Files.move(file, quarantined, StandardCopyOption.REPLACE_EXISTING);
+                // Retention is measured from the time of quarantine
+                Files.setLastModifiedTime(quarantined, FileTime.from(Instant.now()));
+                imageCache.invalidate(entry.getKey());
+            } finally {
+                lock.unlock();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void cleanDirectory(Path directory, Instant cutoff) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void reportDanglingReferences(Path quarantineDir) throws IOException, InterruptedException {
+        List<Long> danglingIds = new ArrayList<>();
+        int dangling = 0;
+        int restored = 0;
+        long afterId = 0L;
+
+        while (true) {
+            List<BookRepository.ImageReference> page =
+                    bookRepository.findImageReferencesAfter(afterId, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (BookRepository.ImageReference reference : page) {
+                afterId = reference.getId();
+                String imageUrl = reference.getImageUrl();
+                if (imageUrl.isEmpty() || imageUrl.startsWith("http://") || imageUrl.startsWith("https://")
+                        || fileStorageService.fileExists(imageUrl)) {
+                    continue;
+                }
+
+                Path quarantined = quarantineDir.resolve(imageUrl);
+                if (Files.isRegularFile(quarantined)) {
+                    Path target = fileStorageService.loadFile(imageUrl);
+                    Files.createDirectories(target.getParent());
+                    Files.move(quarantined, target, StandardCopyOption.REPLACE_EXISTING);
+                    restored++;
+                    continue;
+                }
+
+                dangling++;
+                if (danglingIds.size() < MAX_REPORTED_IDS) {
+                    danglingIds.add(reference.getId());
+                }
+            }
+            Thread.sleep(batchPauseMs);
+        }
+
+        if (restored > 0) {
+            log.warn("Restored {} referenced images from quarantine", restored);
+        }
+        if (dangling > 0) {
+            log.warn("{} books reference missing images, e.g. book ids {}", dangling, danglingIds);
+        }
+    }
+}
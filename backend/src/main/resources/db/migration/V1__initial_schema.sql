@@ -0,0 +1,89 @@
+-- Schema as previously created by ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start at V2.
+
+CREATE TABLE authors (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    biography VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKt8o6pivur7nn124jehx7cygw5 UNIQUE (name)
+);
+
+CREATE TABLE books (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    stock INTEGER NOT NULL,
+    isbn VARCHAR(255),
+    publication_date DATETIME(6),
+    image_url VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    author_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKkibbepcitr0a3cpk3rfr7nihn UNIQUE (isbn),
+    CONSTRAINT FKfjixh2vym2cvfj3ufxj91jem7 FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE book_categories (
+    book_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    CONSTRAINT FK3k3ahp5vqlgmrr9swqqprmbxy FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT FKrg2xlmc92mm2y5b1wmhd2g0y0 FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    phone_number VARCHAR(255),
+    address VARCHAR(255),
+    role ENUM('ADMIN','USER') NOT NULL,
+    enabled BIT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_number VARCHAR(255) NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    status ENUM('CANCELLED','DELIVERED','PENDING','PROCESSING','SHIPPED') NOT NULL,
+    shipping_address VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKnthkiu7pgmnqnu86i2jyoe2v7 UNIQUE (order_number),
+    CONSTRAINT FK32ql8ubntj5uh44ph9659tiih FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    quantity INTEGER NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    order_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKbioxgbv59vetrxe0ejfubep1w FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT FKi4ptndslo2pyfp9r1x0eulh9g FOREIGN KEY (book_id) REFERENCES books (id)
+);
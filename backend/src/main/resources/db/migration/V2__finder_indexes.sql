@@ -0,0 +1,18 @@
+-- Indexes for the repository finders; SchemaIndexPlanTest checks each one is
+-- picked for the query it exists for.
+
+-- OrderRepository.findByUserIdOrderByCreatedAtDesc: order history without a filesort
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at);
+
+-- OrderRepository.findByStatus (admin queues)
+CREATE INDEX idx_orders_status ON orders (status);
+
+-- BookRepository.findByStockGreaterThan (available books)
+CREATE INDEX idx_books_stock ON books (stock);
+
+-- BookRepository.countByImageUrl / updateImageUrl / findReferencedImageUrls
+CREATE INDEX idx_books_image_url ON books (image_url);
+
+-- BookRepository.findByCategoryId: answered from the index alone, and
+-- still satisfies the category_id foreign key
+CREATE INDEX idx_book_categories_category_book ON book_categories (category_id, book_id);
@@ -0,0 +1,15 @@
+-- Orders and order items take their ids from pooled blocks of this table
+-- (table hi/lo) instead of AUTO_INCREMENT, so Hibernate knows the ids before
+-- inserting and can batch an order with its line items. next_val is the
+-- highest id of the next block Hibernate hands out; blocks are
+-- Order.ID_ALLOCATION_SIZE (50) ids wide, so seeding with MAX(id) + 50 makes
+-- the first block start right after the existing rows. The id columns keep
+-- AUTO_INCREMENT for rows written outside Hibernate.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'orders', COALESCE(MAX(id), 0) + 50 FROM orders;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'order_items', COALESCE(MAX(id), 0) + 50 FROM order_items;
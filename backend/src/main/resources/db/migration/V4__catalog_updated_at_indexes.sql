@@ -0,0 +1,5 @@
+-- CatalogVersionService reads MAX(updated_at) of each catalog table to build
+-- ETag/Last-Modified validators; these make that a single index lookup.
+CREATE INDEX idx_books_updated_at ON books (updated_at);
+CREATE INDEX idx_authors_updated_at ON authors (updated_at);
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
@@ -0,0 +1,16 @@
+-- Constraint and indexes for the admin user directory, which V1 (the
+-- ddl-auto=update schema that existing databases are baselined at) lacks.
+
+-- Named so UserService can tell which field a duplicate signup clashed on;
+-- they replace the unique constraints Hibernate had generated
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+ALTER TABLE users DROP CONSTRAINT UKr43af9ap4edm43mmtq01oddj6;
+ALTER TABLE users DROP CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7;
+
+-- UserRepositoryImpl.searchUsers: newest first, optionally filtered by role and enabled
+CREATE INDEX idx_users_created_at ON users (created_at);
+CREATE INDEX idx_users_role_enabled_created_at ON users (role, enabled, created_at);
+
+-- UserRepositoryImpl: per-user order count and spend, read from the index alone
+CREATE INDEX idx_orders_user_status_total ON orders (user_id, status, total_amount);
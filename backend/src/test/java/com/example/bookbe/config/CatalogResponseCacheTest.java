@@ -0,0 +1,79 @@
+package com.example.bookbe.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static com.example.bookbe.config.CatalogResponseCache.CACHE_HEADER;
+import static com.example.bookbe.support.SqlQueryMatchers.statements;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"catalog.response-cache.enabled=true", "server.compression.min-response-size=64B"})
+@AutoConfigureMockMvc
+class CatalogResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void repeatedReadIsServedPrecompressedWithoutQueries() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/books").param("view", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CACHE_HEADER, "miss"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+
+        MvcResult gzipped = mockMvc.perform(get("/api/books").param("view", "card")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CACHE_HEADER, "hit"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(statements(0))
+                .andReturn();
+
+        assertArrayEquals(plain.getResponse().getContentAsByteArray(),
+                gunzip(gzipped.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void catalogWriteDropsCachedResponses() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories")).andExpect(header().string(CACHE_HEADER, "hit"));
+
+        mockMvc.perform(post("/api/categories").with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Cache Test Category\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/categories")).andExpect(header().string(CACHE_HEADER, "miss"));
+    }
+
+    @Test
+    void authenticatedReadsBypassTheCache() throws Exception {
+        mockMvc.perform(get("/api/authors").with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CACHE_HEADER));
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
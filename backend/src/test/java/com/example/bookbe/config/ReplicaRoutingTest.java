@@ -0,0 +1,115 @@
+package com.example.bookbe.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two embedded databases stand in for primary and replica; each holds a
+ * single row naming itself, so a query shows where it was routed.
+ */
+class ReplicaRoutingTest {
+    private static final long WINDOW_MS = 300;
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(WINDOW_MS);
+    private SwitchableDataSource replica;
+    private ReplicaDataSource replicaDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("routing_primary");
+        replica = new SwitchableDataSource(database("routing_replica"));
+        replicaDataSource = new ReplicaDataSource(primary, Map.of("replica-1", replica), tracker);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(dataSource);
+        transactionManager.addListener(tracker);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        assertEquals("routing_replica", readOnly.execute(status -> node()));
+        assertEquals("routing_primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimaryWithinWindow() throws InterruptedException {
+        tracker.bind("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = touched + 1"));
+        assertEquals("routing_primary", readOnly.execute(status -> node()));
+
+        tracker.bind("bob");
+        assertEquals("routing_replica", readOnly.execute(status -> node()));
+
+        tracker.bind("alice");
+        Thread.sleep(WINDOW_MS + 50);
+        assertEquals("routing_replica", readOnly.execute(status -> node()));
+        tracker.unbind();
+    }
+
+    @Test
+    void readsFailOverToPrimaryAndReturnOnceReplicaRecovers() {
+        replica.down = true;
+        assertEquals("routing_primary", readOnly.execute(status -> node()));
+        assertFalse(replicaDataSource.getReplicaHealth().get("replica-1"));
+
+        replica.down = false;
+        assertEquals("routing_primary", readOnly.execute(status -> node()));
+        replicaDataSource.checkHealth();
+        assertTrue(replicaDataSource.getReplicaHealth().get("replica-1"));
+        assertEquals("routing_replica", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS node");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(32), touched INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
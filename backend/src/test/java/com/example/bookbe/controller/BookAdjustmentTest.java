@@ -0,0 +1,100 @@
+package com.example.bookbe.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A small chunk size so an adjustment spans several chunks
+@SpringBootTest(properties = "book.adjustment.chunk-size=2")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class BookAdjustmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long authorId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO authors (name) VALUES ('Adjusted Author')");
+        authorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM authors WHERE name = 'Adjusted Author'", Long.class);
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO books (title, price, stock, isbn, author_id) VALUES (?, 10.00, 4, ?, ?)",
+                    "Adjusted " + i, "ADJ-" + authorId + "-" + i, authorId);
+        }
+    }
+
+    @Test
+    void percentIncreaseAndStockDecreaseApplyToEveryMatchingBook() throws Exception {
+        mockMvc.perform(post("/api/books/adjustments").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"authorId": %d,
+                         "price": {"operation": "INCREASE", "percent": 12.5},
+                         "stock": {"operation": "DECREASE", "amount": 6}}
+                        """.formatted(authorId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(5))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        assertEquals(List.of(new BigDecimal("11.25")), jdbcTemplate.queryForList(
+                "SELECT DISTINCT price FROM books WHERE author_id = ?", BigDecimal.class, authorId));
+        // Stock stops at zero
+        assertEquals(List.of(0), jdbcTemplate.queryForList(
+                "SELECT DISTINCT stock FROM books WHERE author_id = ?", Integer.class, authorId));
+    }
+
+    @Test
+    void idListNarrowsTheAuthorFilter() throws Exception {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM books WHERE author_id = ? ORDER BY id LIMIT 2", Long.class, authorId);
+        mockMvc.perform(post("/api/books/adjustments").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"authorId": %d, "bookIds": [%d, %d], "price": {"operation": "SET", "amount": 5}}
+                        """.formatted(authorId, ids.get(0), ids.get(1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE author_id = ? AND price = 5", Integer.class, authorId));
+    }
+
+    @Test
+    void setAmountIsRoundedToCentsAndCapped() throws Exception {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM books WHERE author_id = ? ORDER BY id LIMIT 2", Long.class, authorId);
+        mockMvc.perform(post("/api/books/adjustments").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"bookIds": [%d], "price": {"operation": "SET", "amount": 7.125}}
+                        """.formatted(ids.get(0))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/books/adjustments").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"bookIds": [%d], "price": {"operation": "SET", "amount": 1000000000}}
+                        """.formatted(ids.get(1))))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(new BigDecimal("7.13"), new BigDecimal("99999999.99")), jdbcTemplate.queryForList(
+                "SELECT price FROM books WHERE id IN (?, ?) ORDER BY id", BigDecimal.class, ids.get(0), ids.get(1)));
+    }
+
+    @Test
+    void adjustmentWithoutFilterIsRejected() throws Exception {
+        mockMvc.perform(post("/api/books/adjustments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": {\"operation\": \"SET\", \"amount\": 1}}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bookbe.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.example.bookbe.support.SqlQueryMatchers.repeatsAtMost;
+import static com.example.bookbe.support.SqlQueryMatchers.statementsAtMost;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerQueryCountTest {
+    // Every catalog GET also reads its ETag version in one statement
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void bookDetailStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4))
+                .andExpect(repeatsAtMost(1));
+    }
+
+    @Test
+    void bookListStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4))
+                .andExpect(repeatsAtMost(1));
+    }
+
+    @Test
+    void cardViewReadsOnlyCardColumns() throws Exception {
+        mockMvc.perform(get("/api/books").param("view", "card"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").exists())
+                .andExpect(jsonPath("$[0].authorName").exists())
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].categoryNames").doesNotExist())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void selectedFieldsIncludeCategoriesFromOneExtraQuery() throws Exception {
+        mockMvc.perform(get("/api/books/available").param("fields", "title,categoryNames"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].categoryNames").isArray())
+                .andExpect(statementsAtMost(3));
+    }
+
+    @Test
+    void batchLookupKeepsRequestOrderAndMarksMissingIds() throws Exception {
+        mockMvc.perform(get("/api/books/batch").param("ids", "3,999999,1,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].book.stock").exists())
+                .andExpect(jsonPath("$[1].id").value(999999))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].book").value(nullValue()))
+                .andExpect(jsonPath("$[2].book.id").value(1))
+                .andExpect(jsonPath("$[3].book.id").value(3))
+                .andExpect(statementsAtMost(3))
+                .andExpect(repeatsAtMost(1));
+    }
+
+    @Test
+    void batchLookupByPostIsBounded() throws Exception {
+        mockMvc.perform(post("/api/books/batch").contentType(MediaType.APPLICATION_JSON).content("[2, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].book.id").value(2));
+
+        String tooMany = LongStream.rangeClosed(1, 501).mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
+        mockMvc.perform(post("/api/books/batch").contentType(MediaType.APPLICATION_JSON).content(tooMany))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/api/books").param("fields", "title,secret"))
+                .andExpect(status().isBadRequest());
+    }
+}
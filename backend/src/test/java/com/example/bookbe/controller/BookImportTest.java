@@ -0,0 +1,91 @@
+package com.example.bookbe.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class BookImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void csvImportUpsertsOnIsbnAndReportsBadRows() throws Exception {
+        String csv = """
+                isbn,title,price,stock,author,categories,description
+                IMP-CSV-1,First Import,12.50,3,Import Author,Import Fiction|Import Poetry,"Quoted, with comma"
+                IMP-CSV-2,Second Import,abc,1,Import Author,,
+                IMP-CSV-3,Third Import,7.00,0,import author,IMPORT FICTION,
+                """;
+        mockMvc.perform(post("/api/books/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.authorsCreated").value(1))
+                .andExpect(jsonPath("$.categoriesCreated").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].isbn").value("IMP-CSV-2"));
+
+        assertEquals("Quoted, with comma", jdbcTemplate.queryForObject(
+                "SELECT description FROM books WHERE isbn = 'IMP-CSV-1'", String.class));
+        assertEquals(List.of("Import Fiction"), categoriesOf("IMP-CSV-3"));
+
+        String update = """
+                isbn,title,price,stock,author,categories
+                IMP-CSV-1,First Import Revised,13.00,5,Import Author,Import Poetry
+                """;
+        mockMvc.perform(post("/api/books/import").contentType("text/csv").content(update))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT stock FROM books WHERE isbn = 'IMP-CSV-1'", Integer.class));
+        // Left out of the update row, so kept
+        assertEquals("Quoted, with comma", jdbcTemplate.queryForObject(
+                "SELECT description FROM books WHERE isbn = 'IMP-CSV-1'", String.class));
+        assertEquals(List.of("Import Poetry"), categoriesOf("IMP-CSV-1"));
+    }
+
+    @Test
+    void ndjsonImportWithRepeatedIsbnKeepsTheLastRow() throws Exception {
+        String ndjson = """
+                {"isbn": "IMP-JSON-1", "title": "Json Book", "price": 9.99, "stock": 2, "author": "Json Author", "categories": ["Json Category"]}
+                not json
+                {"isbn": "IMP-JSON-1", "title": "Json Book", "price": 9.99, "stock": 8, "author": "Json Author", "publicationDate": "2020-05-01"}
+                """;
+        mockMvc.perform(post("/api/books/import").contentType(MediaType.APPLICATION_NDJSON).content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+
+        assertEquals(8, jdbcTemplate.queryForObject("SELECT stock FROM books WHERE isbn = 'IMP-JSON-1'", Integer.class));
+        assertEquals(List.of("Json Category"), categoriesOf("IMP-JSON-1"));
+    }
+
+    private List<String> categoriesOf(String isbn) {
+        return jdbcTemplate.queryForList("SELECT c.name FROM book_categories bc "
+                + "JOIN categories c ON c.id = bc.category_id JOIN books b ON b.id = bc.book_id "
+                + "WHERE b.isbn = ? ORDER BY c.name", String.class, isbn);
+    }
+}
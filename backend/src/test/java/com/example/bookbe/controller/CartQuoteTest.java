@@ -0,0 +1,65 @@
+package com.example.bookbe.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static com.example.bookbe.support.SqlQueryMatchers.statements;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CartQuoteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void quoteIsPricedFromMemoryWithLineWarnings() throws Exception {
+        BigDecimal price = jdbcTemplate.queryForObject("SELECT price FROM books WHERE id = 1", BigDecimal.class);
+        mockMvc.perform(post("/api/cart/quote").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"items": [
+                          {"bookId": 1, "quantity": 2, "expectedPrice": 0.01},
+                          {"bookId": 999999, "quantity": 1}
+                        ]}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].unitPrice").value(price.doubleValue()))
+                .andExpect(jsonPath("$.lines[0].lineTotal").value(price.multiply(BigDecimal.TWO).doubleValue()))
+                .andExpect(jsonPath("$.lines[0].warnings[0]").value("PRICE_CHANGED"))
+                .andExpect(jsonPath("$.lines[1].warnings[0]").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.itemCount").value(2))
+                .andExpect(jsonPath("$.checkoutReady").value(false))
+                .andExpect(statements(0));
+    }
+
+    @Test
+    void committedBookChangesReachTheQuote() throws Exception {
+        Long bookId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Long.class);
+        mockMvc.perform(put("/api/books/" + bookId).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 42.50, \"stock\": 1}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/cart/quote").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": [{\"bookId\": " + bookId + ", \"quantity\": 2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].unitPrice").value(42.5))
+                .andExpect(jsonPath("$.lines[0].availableStock").value(1))
+                .andExpect(jsonPath("$.lines[0].warnings[0]").value("INSUFFICIENT_STOCK"))
+                .andExpect(jsonPath("$.checkoutReady").value(false));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bookbe.controller;
+
+import com.example.bookbe.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void bulkheadRejectionIsServiceUnavailable() {
+        SQLTransientConnectionException rejected =
+                new SQLTransientConnectionException("Too many requests waiting for a database connection");
+
+        var direct = handler.handleDatabaseUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager", rejected));
+        var wrapped = handler.handleRuntimeException(new InternalAuthenticationServiceException("login failed",
+                new CannotCreateTransactionException("Could not open JPA EntityManager", rejected)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, direct.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, wrapped.getStatusCode());
+        assertEquals("1", wrapped.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void loadingSnapshotAsksClientsToRetryLater() {
+        var response = handler.handleServiceUnavailableException(
+                new ServiceUnavailableException("Prices are still loading, try again shortly", 5));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void otherRuntimeErrorsStayClientErrors() {
+        assertEquals(HttpStatus.BAD_REQUEST, handler.handleRuntimeException(new RuntimeException("Insufficient stock")).getStatusCode());
+    }
+}
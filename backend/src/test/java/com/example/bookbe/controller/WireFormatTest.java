@@ -0,0 +1,73 @@
+package com.example.bookbe.controller;
+
+import com.example.bookbe.config.WireFormats;
+import com.example.bookbe.dto.BookDto;
+import com.example.bookbe.dto.CategoryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void binaryFormatsCarryTheSameBooksAsJson() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/books").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/books").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(WireFormats.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/books")
+                        .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(WireFormats.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BookDto[] fromJson = JsonMapper.builder().build().readValue(json, BookDto[].class);
+        assertArrayEquals(fromJson, CBORMapper.builder().build().readValue(cbor, BookDto[].class));
+        assertArrayEquals(fromJson, SmileMapper.builder().build().readValue(smile, BookDto[].class));
+    }
+
+    @Test
+    void binaryRequestBodiesAreAccepted() throws Exception {
+        CategoryDto category = new CategoryDto();
+        category.setName("Cbor Category");
+        mockMvc.perform(post("/api/categories").with(user("admin").roles("ADMIN"))
+                        .contentType(WireFormats.CBOR)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                        .content(CBORMapper.builder().build().writeValueAsBytes(category)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Cbor Category"));
+    }
+
+    @Test
+    void binaryPreferenceFollowsQuality() {
+        assertEquals(WireFormats.CBOR, WireFormats.preferredBinary("application/json;q=0.5, application/cbor"));
+        assertNull(WireFormats.preferredBinary("application/json, application/cbor"));
+        assertNull(WireFormats.preferredBinary("*/*"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bookbe.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A database created by the old ddl-auto=update setup (V1 applied without
+ * Flyway history) is baselined at V1, as in application.properties, and must
+ * still end up with every constraint and index the later migrations add.
+ */
+class BaselineMigrationTest {
+
+    @Test
+    void baselinedDatabaseGainsLaterConstraintsAndIndexes() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline_" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__initial_schema.sql")).execute(dataSource);
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints "
+                + "WHERE LOWER(constraint_name) IN ('uk_users_username', 'uk_users_email')", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints "
+                + "WHERE LOWER(constraint_name) IN ('ukr43af9ap4edm43mmtq01oddj6', 'uk6dotkott2kjsp8vw4d0m25fb7')", Long.class));
+        assertEquals(3L, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT index_name) FROM information_schema.indexes "
+                + "WHERE LOWER(index_name) IN ('idx_users_created_at', 'idx_users_role_enabled_created_at', "
+                + "'idx_orders_user_status_total')", Long.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.bookbe.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each index added by the migrations must be the access path for the finder
+ * it was designed for. The statements mirror the SQL Hibernate generates for
+ * those finders; the plan comes from EXPLAIN on the migrated test schema.
+ */
+@SpringBootTest
+class SchemaIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void orderHistoryUsesUserCreatedIndex() {
+        // H2 cannot use an index for a sort that skips the constant user_id column or
+        // runs backwards, both of which MySQL does (EXPLAIN there shows no filesort),
+        // so here the created_at part is exercised through a range instead
+        assertUsesIndex("SELECT o.* FROM orders o WHERE o.user_id = 1 AND o.created_at > '2024-01-01' "
+                + "ORDER BY o.created_at DESC", "idx_orders_user_created");
+    }
+
+    @Test
+    void ordersByStatusUseStatusIndex() {
+        assertUsesIndex("SELECT o.* FROM orders o WHERE o.status = 'PENDING'", "idx_orders_status");
+    }
+
+    @Test
+    void availableBooksUseStockIndex() {
+        assertUsesIndex("SELECT b.* FROM books b WHERE b.stock > 0", "idx_books_stock");
+    }
+
+    @Test
+    void imageReferenceLookupsUseImageUrlIndex() {
+        assertUsesIndex("SELECT DISTINCT b.image_url FROM books b WHERE b.image_url IN ('a.png', 'b.png')",
+                "idx_books_image_url");
+        assertUsesIndex("UPDATE books SET image_url = 'b.png' WHERE image_url = 'a.png'", "idx_books_image_url");
+    }
+
+    @Test
+    void booksByCategoryUseCategoryBookIndex() {
+        assertUsesIndex("SELECT b.* FROM books b JOIN book_categories c ON b.id = c.book_id WHERE c.category_id = 1",
+                "idx_book_categories_category_book");
+    }
+
+    @Test
+    void catalogVersionsUseUpdatedAtIndexes() {
+        assertUsesIndex("SELECT MAX(updated_at) FROM books", "idx_books_updated_at");
+        assertUsesIndex("SELECT MAX(updated_at) FROM authors", "idx_authors_updated_at");
+        assertUsesIndex("SELECT MAX(updated_at) FROM categories", "idx_categories_updated_at");
+    }
+
+    @Test
+    void userDirectorySubqueriesUseUserStatusTotalIndex() {
+        assertUsesIndex("SELECT COALESCE(SUM(o.total_amount), 0) FROM orders o "
+                + "WHERE o.user_id = 1 AND o.status <> 'CANCELLED'", "idx_orders_user_status_total");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertTrue(plan.toLowerCase().contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+}
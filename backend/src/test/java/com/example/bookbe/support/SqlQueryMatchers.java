@@ -0,0 +1,49 @@
+package com.example.bookbe.support;
+
+import com.example.bookbe.monitoring.QueryBudgetFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers over the X-SQL-* headers written by {@link QueryBudgetFilter}
+ * (requires sql.monitor.headers=true, as in the test configuration).
+ */
+public final class SqlQueryMatchers {
+
+    private SqlQueryMatchers() {
+    }
+
+    public static ResultMatcher statements(int expected) {
+        return result -> assertEquals(expected, header(result, QueryBudgetFilter.STATEMENTS_HEADER),
+                "SQL statements for " + result.getRequest().getRequestURI());
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            int actual = header(result, QueryBudgetFilter.STATEMENTS_HEADER);
+            assertTrue(actual <= max, "Expected at most " + max + " SQL statements for "
+                    + result.getRequest().getRequestURI() + " but " + actual + " ran");
+        };
+    }
+
+    /**
+     * Fails when any single statement shape ran more than {@code max} times.
+     */
+    public static ResultMatcher repeatsAtMost(int max) {
+        return result -> {
+            int actual = header(result, QueryBudgetFilter.MAX_REPEATS_HEADER);
+            assertTrue(actual <= max, "Expected no statement repeated more than " + max + " times for "
+                    + result.getRequest().getRequestURI() + " but one ran " + actual + " times");
+        };
+    }
+
+    private static int header(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertNotNull(value, name + " header missing; is sql.monitor.headers enabled?");
+        return Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bookbe.util;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generates into a freshly migrated embedded database that already holds one
+ * author, so id assignment has to continue after existing rows.
+ */
+class BulkDataGeneratorTest {
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bulk_data_" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO authors (name) VALUES ('Existing')");
+    }
+
+    @Test
+    void generatesConsistentRowsWithIndexesRestored() throws SQLException {
+        BulkDataGenerator.GeneratedDataset dataset = new BulkDataGenerator(dataSource, "hash").generate(
+                new BulkDataGenerator.DatasetSpec(10, 5, 200, 20, 300, 4, List.of("a.png")), 1L, 7, true);
+
+        assertEquals(2, dataset.authors().first());
+        assertEquals(11, count("authors"));
+        assertEquals(200, count("books"));
+        assertEquals(300, count("orders"));
+        assertEquals(dataset.orderItems(), count("order_items"));
+        assertEquals(0, count("orders o WHERE o.total_amount <> "
+                + "(SELECT SUM(i.subtotal) FROM order_items i WHERE i.order_id = o.id)"));
+        assertEquals(0, count("(SELECT book_id, category_id FROM book_categories "
+                + "GROUP BY book_id, category_id HAVING COUNT(*) > 1) duplicates"));
+        assertTrue(count("information_schema.indexes WHERE index_name IN "
+                + "('idx_books_stock', 'idx_orders_user_created', 'idx_users_created_at')") >= 3);
+
+        // Hibernate's next order id block starts after the generated orders
+        assertTrue(jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE sequence_name = 'orders'",
+                Long.class) - 49 > dataset.orders().first() + dataset.orders().count() - 1);
+
+        // Identity columns continue after the generated ids
+        jdbcTemplate.update("INSERT INTO authors (name) VALUES ('After')");
+        assertEquals(12L, jdbcTemplate.queryForObject("SELECT id FROM authors WHERE name = 'After'", Long.class));
+    }
+
+    @Test
+    void extraCategoriesStayDistinctWhenTheCountSharesTheStride() throws SQLException {
+        new BulkDataGenerator(dataSource, "hash").generate(
+                new BulkDataGenerator.DatasetSpec(3, 7, 300, 5, 10, 2, List.of()), 3L, 7, false);
+
+        assertEquals(0, count("(SELECT book_id, category_id FROM book_categories "
+                + "GROUP BY book_id, category_id HAVING COUNT(*) > 1) duplicates"));
+        assertEquals(9, BulkDataGenerator.coprimeStride(14));
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Long.class);
+    }
+}
@@ -8,11 +8,21 @@ import { Edit, Trash2, ArrowLeft } from 'lucide-react';
 import Link from 'next/link';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 20;
+
 export default function AdminUsersPage() {
   const { isAdmin, isAuthenticated } = useAuth();
   const router = useRouter();
   const [users, setUsers] = useState<any[]>([]);
   const [loading, setLoading] = useState(true);
+  const [search, setSearch] = useState('');
+  const [role, setRole] = useState('');
+  const [enabled, setEnabled] = useState('');
+  const [createdFrom, setCreatedFrom] = useState('');
+  const [createdTo, setCreatedTo] = useState('');
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
+  const [totalElements, setTotalElements] = useState(0);
 
   useEffect(() => {
     if (!isAuthenticated || !isAdmin) {
@@ -20,12 +30,23 @@ export default function AdminUsersPage() {
       return;
     }
     loadUsers();
-  }, [isAuthenticated, isAdmin, router]);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [isAuthenticated, isAdmin, router, page, role, enabled, createdFrom, createdTo]);
 
   const loadUsers = async () => {
     try {
-      const response = await usersAPI.getAll();
-      setUsers(response.data);
+      const response = await usersAPI.getAll({
+        search: search || undefined,
+        role: role || undefined,
+        enabled: enabled === '' ? undefined : enabled === 'true',
+        createdFrom: createdFrom ? `${createdFrom}T00:00:00` : undefined,
+        createdTo: createdTo ? `${createdTo}T23:59:59` : undefined,
+        page,
+        size: PAGE_SIZE,
+      });
+      setUsers(response.data.content);
+      setTotalPages(response.data.totalPages);
+      setTotalElements(response.data.totalElements);
     } catch (error) {
       console.error('Failed to load users:', error);
     } finally {
@@ -46,6 +67,15 @@ export default function AdminUsersPage() {
     }
   };
 
+  const handleSearch = (e: React.FormEvent) => {
+    e.preventDefault();
+    if (page === 0) {
+      loadUsers();
+    } else {
+      setPage(0);
+    }
+  };
+
   if (!isAuthenticated || !isAdmin) {
     return null;
   }
@@ -59,6 +89,38 @@ export default function AdminUsersPage() {
         <h1 className="text-3xl font-bold">Manage Users</h1>
       </div>
 
+      <form onSubmit={handleSearch} className="card mb-6 grid grid-cols-1 md:grid-cols-6 gap-4">
+        <input
+          type="text"
+          value={search}
+          onChange={(e) => setSearch(e.target.value)}
+          placeholder="Username or email starts with..."
+          className="input md:col-span-2"
+        />
+        <select value={role} onChange={(e) => { setRole(e.target.value); setPage(0); }} className="input">
+          <option value="">All roles</option>
+          <option value="USER">User</option>
+          <option value="ADMIN">Admin</option>
+        </select>
+        <select value={enabled} onChange={(e) => { setEnabled(e.target.value); setPage(0); }} className="input">
+          <option value="">All statuses</option>
+          <option value="true">Enabled</option>
+          <option value="false">Disabled</option>
+        </select>
+        <input
+          type="date"
+          value={createdFrom}
+          onChange={(e) => { setCreatedFrom(e.target.value); setPage(0); }}
+          className="input"
+        />
+        <input
+          type="date"
+          value={createdTo}
+          onChange={(e) => { setCreatedTo(e.target.value); setPage(0); }}
+          className="input"
+        />
+      </form>
+
       {loading ? (
         <div className="text-center py-12">
           <p className="text-gray-500">Loading users...</p>
@@ -74,6 +136,8 @@ export default function AdminUsersPage() {
                   <th className="text-left py-3 px-4">Name</th>
                   <th className="text-left py-3 px-4">Role</th>
                   <th className="text-left py-3 px-4">Status</th>
+                  <th className="text-right py-3 px-4">Orders</th>
+                  <th className="text-right py-3 px-4">Total Spent</th>
                   <th className="text-right py-3 px-4">Actions</th>
                 </tr>
               </thead>
@@ -101,6 +165,8 @@ export default function AdminUsersPage() {
                         {user.enabled ? 'Enabled' : 'Disabled'}
                       </span>
                     </td>
+                    <td className="py-3 px-4 text-right">{user.orderCount}</td>
+                    <td className="py-3 px-4 text-right">${Number(user.totalSpent).toFixed(2)}</td>
                     <td className="py-3 px-4">
                       <div className="flex justify-end space-x-2">
                         <button
@@ -116,6 +182,28 @@ export default function AdminUsersPage() {
               </tbody>
             </table>
           </div>
+          <div className="flex items-center justify-between mt-4">
+            <p className="text-sm text-gray-500">{totalElements} users</p>
+            <div className="flex items-center space-x-2">
+              <button
+                onClick={() => setPage(page - 1)}
+                disabled={page === 0}
+                className="btn btn-secondary disabled:opacity-50"
+              >
+                Previous
+              </button>
+              <span className="text-sm text-gray-600">
+                Page {totalPages === 0 ? 0 : page + 1} of {totalPages}
+              </span>
+              <button
+                onClick={() => setPage(page + 1)}
+                disabled={page + 1 >= totalPages}
+                className="btn btn-secondary disabled:opacity-50"
+              >
+                Next
+              </button>
+            </div>
+          </div>
         </div>
       )}
     </div>
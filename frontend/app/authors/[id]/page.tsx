@@ -33,7 +33,7 @@ export default function AuthorDetailPage() {
 
   const loadAuthorBooks = async (authorId: number) => {
     try {
-      const response = await booksAPI.getByAuthor(authorId);
+      const response = await booksAPI.getByAuthor(authorId, 'card');
       setBooks(response.data);
     } catch (error) {
       console.error('Failed to load author books:', error);
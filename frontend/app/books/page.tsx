@@ -16,7 +16,7 @@ export default function BooksPage() {
 
   const loadBooks = async () => {
     try {
-      const response = await booksAPI.getAll();
+      const response = await booksAPI.getAll('card');
       setBooks(response.data);
     } catch (error) {
       console.error('Failed to load books:', error);
@@ -32,7 +32,7 @@ export default function BooksPage() {
     }
     setLoading(true);
     try {
-      const response = await booksAPI.search(searchTerm);
+      const response = await booksAPI.search(searchTerm, 'card');
       setBooks(response.data);
     } catch (error) {
       console.error('Search failed:', error);
@@ -7,16 +7,17 @@ import { useRouter } from 'next/navigation';
 import { Trash2, Plus, Minus, ShoppingBag } from 'lucide-react';
 import Link from 'next/link';
 import Image from 'next/image';
-import { ordersAPI } from '@/lib/api';
+import { cartAPI, ordersAPI } from '@/lib/api';
 import toast from 'react-hot-toast';
 import { getBookImageUrl } from '@/lib/imageUtils';
 
 export default function CartPage() {
-  const { items, removeItem, updateQuantity, getTotal, clearCart } = useCart();
+  const { items, removeItem, updateQuantity, getTotal, clearCart, refreshItems } = useCart();
   const { isAuthenticated, user } = useAuth();
   const router = useRouter();
   const [loading, setLoading] = useState(false);
   const [shippingAddress, setShippingAddress] = useState(user?.address || '');
+  const [refreshed, setRefreshed] = useState(false);
 
   useEffect(() => {
     if (!isAuthenticated) {
@@ -24,6 +25,14 @@ export default function CartPage() {
     }
   }, [isAuthenticated, router]);
 
+  // Prices and stock may have changed since the items were added
+  useEffect(() => {
+    if (isAuthenticated && !refreshed && items.length > 0) {
+      setRefreshed(true);
+      refreshItems();
+    }
+  }, [isAuthenticated, refreshed, items.length, refreshItems]);
+
   const handleCheckout = async () => {
     if (!shippingAddress.trim()) {
       toast.error('Please enter a shipping address');
@@ -32,6 +41,21 @@ export default function CartPage() {
 
     setLoading(true);
     try {
+      // Catch stale prices and stock before the order is attempted
+      const quote = await cartAPI.quote(items.map(item => ({
+        bookId: item.bookId,
+        quantity: item.quantity,
+        expectedPrice: item.price,
+      })));
+      const changed = quote.data.lines.filter(line => line.warnings.length > 0);
+      if (changed.length > 0) {
+        await refreshItems();
+        toast.error(quote.data.checkoutReady
+          ? 'Some prices have changed, please review your cart'
+          : 'Some items are no longer available in the requested quantity');
+        return;
+      }
+
       const orderData = {
         shippingAddress,
         items: items.map(item => ({
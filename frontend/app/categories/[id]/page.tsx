@@ -33,7 +33,7 @@ export default function CategoryDetailPage() {
 
   const loadCategoryBooks = async (categoryId: number) => {
     try {
-      const response = await booksAPI.getByCategory(categoryId);
+      const response = await booksAPI.getByCategory(categoryId, 'card');
       setBooks(response.data);
     } catch (error) {
       console.error('Failed to load category books:', error);
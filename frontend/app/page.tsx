@@ -7,7 +7,7 @@ export const revalidate = 0;
 export default async function Home() {
   let books = [];
   try {
-    const response = await booksAPI.getAvailable();
+    const response = await booksAPI.getAvailable('card');
     books = response.data.slice(0, 12); // Show first 12 books
     console.log('Fetched books:', books);
   } catch (error) {
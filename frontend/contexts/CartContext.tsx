@@ -1,7 +1,8 @@
 'use client';
 
-import React, { createContext, useContext, useState, useEffect } from 'react';
+import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
 import toast from 'react-hot-toast';
+import { booksAPI, BookLookup } from '@/lib/api';
 
 export interface CartItem {
   bookId: number;
@@ -20,6 +21,7 @@ interface CartContextType {
   clearCart: () => void;
   getTotal: () => number;
   getItemCount: () => number;
+  refreshItems: () => Promise<void>;
 }
 
 const CartContext = createContext<CartContextType | undefined>(undefined);
@@ -93,6 +95,44 @@ export const CartProvider: React.FC<{ children: React.ReactNode }> = ({ children
     toast.success('Cart cleared');
   };
 
+  // Re-reads price and stock of every cart item in one request; drops books that no longer exist
+  const refreshItems = useCallback(async () => {
+    const ids = items.map((i) => i.bookId);
+    if (ids.length === 0) {
+      return;
+    }
+    try {
+      const response = await booksAPI.getBatch(ids);
+      const lookups = new Map<number, BookLookup>(
+        (response.data as BookLookup[]).map((lookup) => [lookup.id, lookup])
+      );
+      setItems((prevItems) => {
+        const removed = prevItems.filter((i) => lookups.get(i.bookId)?.found === false);
+        if (removed.length > 0) {
+          toast.error(`${removed.length} unavailable item(s) removed from cart`);
+        }
+        return prevItems
+          .filter((i) => lookups.get(i.bookId)?.found !== false)
+          .map((i) => {
+            const book = lookups.get(i.bookId)?.book;
+            if (!book) {
+              return i;
+            }
+            return {
+              ...i,
+              title: book.title,
+              price: book.price,
+              imageUrl: book.imageUrl,
+              stock: book.stock,
+              quantity: book.stock > 0 ? Math.min(i.quantity, book.stock) : i.quantity,
+            };
+          });
+      });
+    } catch (e) {
+      console.error('Failed to refresh cart items', e);
+    }
+  }, [items]);
+
   const getTotal = () => {
     return items.reduce((total, item) => total + item.price * item.quantity, 0);
   };
@@ -109,6 +149,7 @@ export const CartProvider: React.FC<{ children: React.ReactNode }> = ({ children
     clearCart,
     getTotal,
     getItemCount,
+    refreshItems,
   };
 
   return <CartContext.Provider value={value}>{children}</CartContext.Provider>;
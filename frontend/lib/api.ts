@@ -58,16 +58,33 @@ export const authAPI = {
     api.post('/auth/register', data),
   login: (data: { username: string; password: string }) =>
     api.post('/auth/login', data),
+  checkAvailability: (params: { username?: string; email?: string }) =>
+    api.get('/auth/availability', { params }),
 };
 
 // Books API
+export interface BookLookup {
+  id: number;
+  found: boolean;
+  book: any | null;
+}
+
+// Longer id lists are POSTed so the URL stays short
+const BATCH_GET_MAX_IDS = 100;
+
 export const booksAPI = {
-  getAll: () => api.get('/books'),
+  // view 'card' returns only what BookCard shows (id, title, authorName, price, imageUrl, stock)
+  getAll: (view?: 'card') => api.get('/books', { params: { view } }),
   getById: (id: number) => api.get(`/books/${id}`),
-  search: (title: string) => api.get(`/books/search?title=${encodeURIComponent(title)}`),
-  getByAuthor: (authorId: number) => api.get(`/books/author/${authorId}`),
-  getByCategory: (categoryId: number) => api.get(`/books/category/${categoryId}`),
-  getAvailable: () => api.get('/books/available'),
+  // Current state of many books in request order; missing ids come back with found: false
+  getBatch: (ids: number[]) =>
+    ids.length > BATCH_GET_MAX_IDS
+      ? api.post('/books/batch', ids)
+      : api.get('/books/batch', { params: { ids: ids.join(',') } }),
+  search: (title: string, view?: 'card') => api.get('/books/search', { params: { title, view } }),
+  getByAuthor: (authorId: number, view?: 'card') => api.get(`/books/author/${authorId}`, { params: { view } }),
+  getByCategory: (categoryId: number, view?: 'card') => api.get(`/books/category/${categoryId}`, { params: { view } }),
+  getAvailable: (view?: 'card') => api.get('/books/available', { params: { view } }),
   create: (data: any) => api.post('/books', data),
   createWithFile: (formData: FormData) => {
     // Don't set Content-Type header - let axios set it automatically with boundary
@@ -110,9 +127,43 @@ export const ordersAPI = {
   cancel: (id: number) => api.post(`/orders/${id}/cancel`),
 };
 
+// Cart API
+export interface CartQuoteLine {
+  bookId: number;
+  quantity: number;
+  unitPrice: number | null;
+  lineTotal: number | null;
+  availableStock: number | null;
+  warnings: ('NOT_FOUND' | 'INVALID_QUANTITY' | 'OUT_OF_STOCK' | 'INSUFFICIENT_STOCK' | 'PRICE_CHANGED')[];
+}
+
+export interface CartQuote {
+  lines: CartQuoteLine[];
+  total: number;
+  itemCount: number;
+  checkoutReady: boolean;
+}
+
+export const cartAPI = {
+  // Server-side prices and stock checks for the cart, without placing an order
+  quote: (items: { bookId: number; quantity: number; expectedPrice?: number }[]) =>
+    api.post<CartQuote>('/cart/quote', { items }),
+};
+
 // Users API
+export interface UserSearchParams {
+  search?: string;
+  role?: string;
+  enabled?: boolean;
+  createdFrom?: string;
+  createdTo?: string;
+  page?: number;
+  size?: number;
+  sort?: string;
+}
+
 export const usersAPI = {
-  getAll: () => api.get('/users'),
+  getAll: (params: UserSearchParams = {}) => api.get('/users', { params }),
   getById: (id: number) => api.get(`/users/${id}`),
   update: (id: number, data: any) => api.put(`/users/${id}`, data),
   delete: (id: number) => api.delete(`/users/${id}`),